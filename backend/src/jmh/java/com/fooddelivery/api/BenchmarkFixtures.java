@@ -0,0 +1,95 @@
+package com.fooddelivery.api;
+
+import com.fooddelivery.api.model.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+// Fully populated, detached entity graphs shared by the benchmarks
+public final class BenchmarkFixtures {
+    private BenchmarkFixtures() {
+    }
+
+    public static User user() {
+        User user = new User("jane.doe", "jane.doe@example.com",
+                "$2a$10$7EqJtq98hPqEX7fNZaFWoO5z8cH3JdC3Q5k8H0m2ZyV9pBq3G1kKy", "Jane Doe");
+        user.setId(42L);
+        user.setPhone("+1-555-0100");
+        user.setRoles(new HashSet<>(List.of(new Role(1, ERole.ROLE_USER), new Role(3, ERole.ROLE_ADMIN))));
+        user.setCreatedAt(LocalDateTime.now());
+        return user;
+    }
+
+    public static Address address(User user) {
+        return new Address(7L, "221B Baker Street", "London", "Greater London", "NW1 6XE",
+                51.5238, -0.1586, "Ring the bell twice", true, user);
+    }
+
+    public static Restaurant restaurant() {
+        Restaurant restaurant = new Restaurant();
+        restaurant.setId(3L);
+        restaurant.setName("Spice Route Kitchen");
+        restaurant.setDescription("Slow-cooked curries, tandoor breads and seasonal thalis.");
+        restaurant.setImage("/images/restaurants/rest-3/interior.jpg");
+        restaurant.setCuisine(new HashSet<>(List.of("North Indian", "Biryani", "Vegetarian")));
+        restaurant.setRating(4.6);
+        restaurant.setDeliveryTime("25-35 min");
+        restaurant.setDeliveryFee(new BigDecimal("2.49"));
+        restaurant.setMinOrder(new BigDecimal("10.00"));
+        restaurant.setAddress(new Address(11L, "12 Curry Lane", "London", "Greater London", "E1 6QL",
+                51.5155, -0.0722, null, false, null));
+        restaurant.setOwner(user());
+        restaurant.setCreatedAt(LocalDateTime.now());
+        restaurant.setUpdatedAt(LocalDateTime.now());
+        return restaurant;
+    }
+
+    public static List<MenuItem> menuItems(Restaurant restaurant, int count) {
+        List<MenuItem> menuItems = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            MenuItem menuItem = new MenuItem();
+            menuItem.setId(100L + i);
+            menuItem.setName("Dish " + i);
+            menuItem.setDescription("House special number " + i + " with rice and raita");
+            menuItem.setPrice(new BigDecimal("7.99").add(BigDecimal.valueOf(i % 10)));
+            menuItem.setCategory(i % 2 == 0 ? "Mains" : "Sides");
+            menuItem.setAvailable(true);
+            menuItem.setRestaurant(restaurant);
+            menuItems.add(menuItem);
+        }
+        return menuItems;
+    }
+
+    public static Order order(int itemCount) {
+        User user = user();
+        Restaurant restaurant = restaurant();
+
+        Order order = new Order();
+        order.setId(9001L);
+        order.setOrderNumber("ORD-1A2B3C4D5E");
+        order.setStatus(OrderStatus.PREPARING);
+        order.setUser(user);
+        order.setRestaurant(restaurant);
+        order.setDeliveryAddress(address(user));
+        order.setPaymentMethod(PaymentMethod.CREDIT_CARD);
+        order.setPaymentStatus("PAID");
+        order.setEstimatedDeliveryTime(30);
+        order.setCreatedAt(LocalDateTime.now());
+        order.setUpdatedAt(LocalDateTime.now());
+
+        BigDecimal subtotal = BigDecimal.ZERO;
+        List<OrderItem> items = new ArrayList<>(itemCount);
+        for (MenuItem menuItem : menuItems(restaurant, itemCount)) {
+            BigDecimal itemSubtotal = menuItem.getPrice().multiply(BigDecimal.valueOf(2));
+            items.add(new OrderItem(menuItem.getId(), order, menuItem, menuItem.getName(), menuItem.getPrice(), 2, itemSubtotal));
+            subtotal = subtotal.add(itemSubtotal);
+        }
+        order.setItems(items);
+        order.setSubtotal(subtotal);
+        order.setDeliveryFee(restaurant.getDeliveryFee());
+        order.setServiceFee(new BigDecimal("1.99"));
+        order.setTotal(subtotal.add(restaurant.getDeliveryFee()).add(new BigDecimal("1.99")));
+        return order;
+    }
+}
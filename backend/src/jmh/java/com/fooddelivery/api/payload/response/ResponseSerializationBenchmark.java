@@ -0,0 +1,51 @@
+package com.fooddelivery.api.payload.response;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fooddelivery.api.BenchmarkFixtures;
+import com.fooddelivery.api.model.Order;
+import com.fooddelivery.api.model.Restaurant;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Serializes the projections the API actually emits; the raw Order entity graph is cyclic (OrderItem.order)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+    @Param({"1", "10", "50"})
+    private int itemCount;
+
+    private ObjectMapper objectMapper;
+    private Order order;
+    private Restaurant restaurant;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        order = BenchmarkFixtures.order(itemCount);
+        restaurant = BenchmarkFixtures.restaurant();
+    }
+
+    @Benchmark
+    public byte[] serializeOrder() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(OrderResponse.build(order));
+    }
+
+    @Benchmark
+    public byte[] serializeRestaurant() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(RestaurantResponse.build(restaurant));
+    }
+
+    @Benchmark
+    public byte[] serializeRestaurantEntity() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(restaurant);
+    }
+}
@@ -0,0 +1,142 @@
+package com.fooddelivery.api.repository;
+
+import com.fooddelivery.api.BenchmarkApplication;
+import com.fooddelivery.api.model.*;
+import com.fooddelivery.api.service.OrderNumberGenerator;
+import com.fooddelivery.api.service.RoleRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Order-write throughput for real Order and OrderItem entities persisted through an EntityManager, under the
+// application's hibernate.jdbc.batch_size and order_inserts settings, against MySQL-mode H2. POOLED is the shipped
+// mapping; IDENTITY boots with META-INF/identity-order-ids.xml, which maps both ids back to IDENTITY, so Hibernate
+// has to insert each row on its own to read back the key. The statements counter is Hibernate's prepared statement
+// count, so statements per order is that rate over the operation rate. In-memory H2 has no network round trip, so
+// the gap against MySQL (with rewriteBatchedStatements) is larger than measured here.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderInsertBenchmark {
+    @Param({"IDENTITY", "POOLED"})
+    private String idStrategy;
+
+    @Param({"3", "10"})
+    private int itemCount;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private Statistics statistics;
+    private OrderNumberGenerator orderNumberGenerator;
+    private Long userId;
+    private Long restaurantId;
+    private Long addressId;
+    private List<MenuItem> menuItems;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Statements {
+        public long statements;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = "IDENTITY".equals(idStrategy)
+                ? BenchmarkApplication.start("order-insert-identity",
+                        "--spring.jpa.mapping-resources=META-INF/identity-order-ids.xml")
+                : BenchmarkApplication.start("order-insert-pooled");
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        orderNumberGenerator = context.getBean(OrderNumberGenerator.class);
+
+        User customer = new User("bench-customer", "bench-customer@example.com", "not-used", "Bench Customer");
+        customer.setRoles(new HashSet<>(List.of(context.getBean(RoleRegistry.class).get(ERole.ROLE_USER))));
+        customer = context.getBean(UserRepository.class).save(customer);
+        userId = customer.getId();
+        addressId = context.getBean(AddressRepository.class).save(new Address(null, "1 Market Street",
+                "San Francisco", "CA", "94103", 37.7749, -122.4194, null, true, customer)).getId();
+
+        Restaurant restaurant = new Restaurant();
+        restaurant.setName("Bench Kitchen");
+        restaurant.setCuisine(new HashSet<>(List.of("Thai")));
+        restaurant.setDeliveryFee(new BigDecimal("2.49"));
+        restaurant.setMinOrder(new BigDecimal("10.00"));
+        restaurant.setOwner(customer);
+        restaurant = context.getBean(RestaurantRepository.class).save(restaurant);
+        restaurantId = restaurant.getId();
+
+        List<MenuItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            MenuItem menuItem = new MenuItem();
+            menuItem.setName("Dish " + i);
+            menuItem.setPrice(new BigDecimal("8.99"));
+            menuItem.setCategory("Mains");
+            menuItem.setAvailable(true);
+            menuItem.setRestaurant(restaurant);
+            items.add(menuItem);
+        }
+        menuItems = context.getBean(MenuItemRepository.class).saveAll(items);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Long createOrder(Statements counter) {
+        long before = statistics.getPrepareStatementCount();
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            entityManager.getTransaction().begin();
+
+            Order order = new Order();
+            order.setOrderNumber(orderNumberGenerator.nextOrderNumber());
+            order.setStatus(OrderStatus.RECEIVED);
+            order.setUser(entityManager.getReference(User.class, userId));
+            order.setRestaurant(entityManager.getReference(Restaurant.class, restaurantId));
+            order.setDeliveryAddress(entityManager.getReference(Address.class, addressId));
+            order.setPaymentMethod(PaymentMethod.CREDIT_CARD);
+            order.setPaymentStatus("PAID");
+
+            BigDecimal subtotal = BigDecimal.ZERO;
+            for (MenuItem menuItem : menuItems) {
+                OrderItem item = new OrderItem();
+                item.setOrder(order);
+                item.setMenuItem(entityManager.getReference(MenuItem.class, menuItem.getId()));
+                item.setName(menuItem.getName());
+                item.setPrice(menuItem.getPrice());
+                item.setQuantity(2);
+                item.setSubtotal(menuItem.getPrice().multiply(BigDecimal.valueOf(2)));
+                order.getItems().add(item);
+                subtotal = subtotal.add(item.getSubtotal());
+            }
+            order.setSubtotal(subtotal);
+            order.setDeliveryFee(new BigDecimal("2.49"));
+            order.setServiceFee(new BigDecimal("1.99"));
+            order.setTotal(subtotal.add(order.getDeliveryFee()).add(order.getServiceFee()));
+
+            entityManager.persist(order);
+            entityManager.getTransaction().commit();
+            return order.getId();
+        } finally {
+            if (entityManager.getTransaction().isActive()) {
+                entityManager.getTransaction().rollback();
+            }
+            entityManager.close();
+            counter.statements += statistics.getPrepareStatementCount() - before;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.fooddelivery.api.search;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Radius and k-nearest queries over 100k restaurants, either packed into one metro area or spread over a country
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeoIndexBenchmark {
+    private static final double CENTER_LATITUDE = 40.7128;
+    private static final double CENTER_LONGITUDE = -74.0060;
+
+    @Param({"100000"})
+    private int restaurants;
+
+    // Half-width of the square the restaurants are scattered over: ~25 km metro or ~1000 km country
+    @Param({"0.25", "10"})
+    private double spreadDegrees;
+
+    private GeoIndex<Integer> index;
+    private double[][] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        List<GeoIndex.Entry<Integer>> entries = new ArrayList<>(restaurants);
+        for (int i = 0; i < restaurants; i++) {
+            entries.add(new GeoIndex.Entry<>(i, CENTER_LATITUDE + (random.nextDouble() * 2 - 1) * spreadDegrees,
+                    CENTER_LONGITUDE + (random.nextDouble() * 2 - 1) * spreadDegrees, 30));
+        }
+        index = new GeoIndex<>(0.02);
+        index.replaceWith(entries);
+
+        queries = new double[1024][];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = new double[]{CENTER_LATITUDE + (random.nextDouble() * 2 - 1) * spreadDegrees,
+                    CENTER_LONGITUDE + (random.nextDouble() * 2 - 1) * spreadDegrees};
+        }
+    }
+
+    @Benchmark
+    public int withinDeliveryRadius() {
+        double[] query = queries[next++ & (queries.length - 1)];
+        return index.withinRadius(query[0], query[1], 8.0).size();
+    }
+
+    @Benchmark
+    public int nearestTwenty() {
+        double[] query = queries[next++ & (queries.length - 1)];
+        return index.nearest(query[0], query[1], 20, 50.0).size();
+    }
+}
@@ -0,0 +1,82 @@
+package com.fooddelivery.api.search;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+// Search latency against the single-digit millisecond target: 50k restaurant documents and 2M menu item documents.
+// Terms follow a Zipf distribution, so the most common term's posting list covers a large share of the documents,
+// which is the case that dominates scoring cost. Queries cover an exact common term, a rare term, a prefix, a typo
+// that falls through to fuzzy matching, and a three-token query.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class InvertedIndexBenchmark {
+    private static final int VOCABULARY = 20_000;
+    private static final int TERMS_PER_DOCUMENT = 6;
+    private static final String[] SYLLABLES = {"ka", "ri", "so", "mu", "te", "pa", "lo", "ne", "gi", "da", "vu", "ch"};
+
+    @Param({"50000", "2000000"})
+    private int documents;
+
+    @Param({"common", "rare", "prefix", "typo", "multi"})
+    private String query;
+
+    private InvertedIndex index;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        String[] vocabulary = vocabulary();
+        double[] cumulative = new double[VOCABULARY];
+        double total = 0;
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            total += 1.0 / (rank + 1);
+            cumulative[rank] = total;
+        }
+
+        Random random = new Random(11);
+        InvertedIndex.Builder builder = new InvertedIndex.Builder();
+        for (long id = 1; id <= documents; id++) {
+            Map<String, Float> terms = new HashMap<>();
+            for (int i = 0; i < TERMS_PER_DOCUMENT; i++) {
+                int rank = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+                terms.merge(vocabulary[rank < 0 ? -rank - 1 : rank], i == 0 ? 3.0f : 1.0f, Math::max);
+            }
+            builder.add(id, terms);
+        }
+        index = new InvertedIndex();
+        index.replaceWith(builder);
+
+        String common = vocabulary[0];
+        String rare = vocabulary[VOCABULARY / 2];
+        switch (query) {
+            case "common" -> text = common;
+            case "rare" -> text = rare;
+            case "prefix" -> text = common.substring(0, 3);
+            case "typo" -> text = rare.substring(0, 2) + rare.charAt(3) + rare.charAt(2) + rare.substring(4);
+            case "multi" -> text = common + " " + vocabulary[10] + " " + rare;
+            default -> throw new IllegalArgumentException(query);
+        }
+    }
+
+    @Benchmark
+    public List<Long> searchTopTwenty() {
+        return index.search(text, 20);
+    }
+
+    // Distinct pseudo-words of three syllables, so prefixes are shared and single-edit typos land near real terms
+    private static String[] vocabulary() {
+        String[] words = new String[VOCABULARY];
+        int n = SYLLABLES.length;
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = SYLLABLES[i % n] + SYLLABLES[(i / n) % n] + SYLLABLES[(i / (n * n)) % n]
+                    + (i / (n * n * n) == 0 ? "" : SYLLABLES[i / (n * n * n)]);
+        }
+        return words;
+    }
+}
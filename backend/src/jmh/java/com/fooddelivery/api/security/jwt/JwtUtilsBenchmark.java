@@ -0,0 +1,72 @@
+package com.fooddelivery.api.security.jwt;
+
+import com.fooddelivery.api.BenchmarkFixtures;
+import com.fooddelivery.api.security.services.UserDetailsImpl;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilsBenchmark {
+    private static final String SECRET = "Zm9vZGRlbGl2ZXJ5LWJlbmNobWFyay1zZWNyZXQta2V5LXRoYXQtaXMtbG9uZy1lbm91Z2g=";
+
+    private JwtUtils cachedJwtUtils;
+    private JwtUtils uncachedJwtUtils;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedJwtUtils = jwtUtils(10000);
+        uncachedJwtUtils = jwtUtils(0);
+
+        UserDetailsImpl principal = UserDetailsImpl.build(BenchmarkFixtures.user());
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+        token = cachedJwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedJwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public Claims parseClaimsUncached() {
+        return uncachedJwtUtils.parseJwtClaims(token);
+    }
+
+    @Benchmark
+    public Claims parseClaimsCached() {
+        return cachedJwtUtils.parseJwtClaims(token);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return uncachedJwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public UserDetailsImpl userDetailsFromClaims() {
+        return cachedJwtUtils.getUserDetailsFromJwtClaims(cachedJwtUtils.parseJwtClaims(token));
+    }
+
+    private static JwtUtils jwtUtils(int cacheSize) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86400000);
+        ReflectionTestUtils.setField(jwtUtils, "jwtCacheSize", cacheSize);
+        ReflectionTestUtils.setField(jwtUtils, "meterRegistry", new SimpleMeterRegistry());
+        jwtUtils.init();
+        return jwtUtils;
+    }
+}
@@ -0,0 +1,144 @@
+package com.fooddelivery.api.service;
+
+import com.fooddelivery.api.BenchmarkApplication;
+import com.fooddelivery.api.model.*;
+import com.fooddelivery.api.payload.request.OrderItemRequest;
+import com.fooddelivery.api.payload.request.OrderRequest;
+import com.fooddelivery.api.repository.AddressRepository;
+import com.fooddelivery.api.repository.MenuItemRepository;
+import com.fooddelivery.api.repository.OrderRepository;
+import com.fooddelivery.api.repository.RestaurantRepository;
+import com.fooddelivery.api.repository.UserRepository;
+import com.fooddelivery.api.security.services.UserDetailsImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+// Order-creation latency against MySQL-mode H2 at 1, 10 and 50 lines. createOrder is the service as shipped, which
+// resolves every menu item in one query; createOrderWithPerItemLookups is the earlier path that called findById once
+// per line. The per-item variant skips the ETA estimate and outbox write, so the measured gap understates the
+// saving, and in-memory H2 has no network round trip, so MySQL widens it further.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderCreationBenchmark {
+    private static final int MENU_SIZE = 50;
+
+    @Param({"1", "10", "50"})
+    private int itemCount;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private UserService userService;
+    private RestaurantRepository restaurantRepository;
+    private MenuItemRepository menuItemRepository;
+    private OrderRepository orderRepository;
+    private OrderNumberGenerator orderNumberGenerator;
+    private TransactionTemplate transactionTemplate;
+    private OrderRequest orderRequest;
+    private UsernamePasswordAuthenticationToken authentication;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("order-creation");
+        orderService = context.getBean(OrderService.class);
+        userService = context.getBean(UserService.class);
+        restaurantRepository = context.getBean(RestaurantRepository.class);
+        menuItemRepository = context.getBean(MenuItemRepository.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        orderNumberGenerator = context.getBean(OrderNumberGenerator.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        User customer = new User("bench-customer", "bench-customer@example.com", "not-used", "Bench Customer");
+        customer.setRoles(new HashSet<>(List.of(context.getBean(RoleRegistry.class).get(ERole.ROLE_USER))));
+        customer = context.getBean(UserRepository.class).save(customer);
+        Address address = context.getBean(AddressRepository.class).save(new Address(null, "1 Market Street",
+                "San Francisco", "CA", "94103", 37.7749, -122.4194, null, true, customer));
+
+        Restaurant restaurant = new Restaurant();
+        restaurant.setName("Bench Kitchen");
+        restaurant.setCuisine(new HashSet<>(List.of("Thai")));
+        restaurant.setDeliveryFee(new BigDecimal("2.49"));
+        restaurant.setMinOrder(new BigDecimal("10.00"));
+        restaurant.setOwner(customer);
+        restaurant = restaurantRepository.save(restaurant);
+
+        List<MenuItem> menuItems = new ArrayList<>(MENU_SIZE);
+        for (int i = 0; i < MENU_SIZE; i++) {
+            MenuItem menuItem = new MenuItem();
+            menuItem.setName("Dish " + i);
+            menuItem.setPrice(BigDecimal.valueOf(799 + i, 2));
+            menuItem.setCategory("Mains");
+            menuItem.setAvailable(true);
+            menuItem.setRestaurant(restaurant);
+            menuItems.add(menuItem);
+        }
+        menuItems = menuItemRepository.saveAll(menuItems);
+
+        List<OrderItemRequest> items = new ArrayList<>(itemCount);
+        for (MenuItem menuItem : menuItems.subList(0, itemCount)) {
+            OrderItemRequest item = new OrderItemRequest();
+            item.setMenuItemId(menuItem.getId());
+            item.setQuantity(2);
+            items.add(item);
+        }
+        orderRequest = new OrderRequest();
+        orderRequest.setRestaurantId(restaurant.getId());
+        orderRequest.setDeliveryAddressId(address.getId());
+        orderRequest.setPaymentMethod(PaymentMethod.CREDIT_CARD);
+        orderRequest.setItems(items);
+
+        UserDetailsImpl principal = UserDetailsImpl.build(customer);
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        return BenchmarkApplication.inRequest(() -> orderService.createOrder(orderRequest));
+    }
+
+    @Benchmark
+    public Order createOrderWithPerItemLookups() {
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        return BenchmarkApplication.inRequest(() -> transactionTemplate.execute(status -> {
+            Restaurant restaurant = restaurantRepository.findById(orderRequest.getRestaurantId()).orElseThrow();
+
+            Order order = new Order();
+            order.setOrderNumber(orderNumberGenerator.nextOrderNumber());
+            order.setStatus(OrderStatus.RECEIVED);
+            order.setUser(userService.getCurrentUser());
+            order.setRestaurant(restaurant);
+            order.setDeliveryAddress(userService.getUserAddressById(orderRequest.getDeliveryAddressId()));
+            order.setPaymentMethod(orderRequest.getPaymentMethod());
+            order.setPaymentStatus("PAID");
+
+            Map<Long, MenuItem> menuItems = new HashMap<>();
+            for (OrderItemRequest item : orderRequest.getItems()) {
+                menuItems.put(item.getMenuItemId(), menuItemRepository.findById(item.getMenuItemId()).orElseThrow());
+            }
+            BigDecimal subtotal = OrderService.priceOrderItems(order, orderRequest.getItems(), menuItems);
+
+            order.setSubtotal(subtotal);
+            order.setDeliveryFee(restaurant.getDeliveryFee());
+            order.setServiceFee(new BigDecimal("1.99"));
+            order.setTotal(subtotal.add(restaurant.getDeliveryFee()).add(new BigDecimal("1.99")));
+            return orderRepository.save(order);
+        }));
+    }
+}
@@ -0,0 +1,48 @@
+package com.fooddelivery.api.service;
+
+import com.fooddelivery.api.BenchmarkFixtures;
+import com.fooddelivery.api.model.MenuItem;
+import com.fooddelivery.api.model.Order;
+import com.fooddelivery.api.payload.request.OrderItemRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderPricingBenchmark {
+    @Param({"1", "10", "50"})
+    private int itemCount;
+
+    private List<OrderItemRequest> itemRequests;
+    private Map<Long, MenuItem> menuItems;
+
+    @Setup
+    public void setUp() {
+        List<MenuItem> items = BenchmarkFixtures.menuItems(BenchmarkFixtures.restaurant(), itemCount);
+        menuItems = items.stream().collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+
+        itemRequests = new ArrayList<>(itemCount);
+        for (MenuItem menuItem : items) {
+            OrderItemRequest request = new OrderItemRequest();
+            request.setMenuItemId(menuItem.getId());
+            request.setQuantity(3);
+            itemRequests.add(request);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal priceOrderItems() {
+        return OrderService.priceOrderItems(new Order(), itemRequests, menuItems);
+    }
+}
@@ -0,0 +1,179 @@
+package com.fooddelivery.api.service;
+
+import com.fooddelivery.api.BenchmarkApplication;
+import com.fooddelivery.api.event.OrderStatusChangedEvent;
+import com.fooddelivery.api.exception.BadRequestException;
+import com.fooddelivery.api.exception.ConflictException;
+import com.fooddelivery.api.model.*;
+import com.fooddelivery.api.payload.request.OrderItemRequest;
+import com.fooddelivery.api.payload.request.OrderRequest;
+import com.fooddelivery.api.repository.AddressRepository;
+import com.fooddelivery.api.repository.MenuItemRepository;
+import com.fooddelivery.api.repository.OrderRepository;
+import com.fooddelivery.api.repository.RestaurantRepository;
+import com.fooddelivery.api.repository.UserRepository;
+import com.fooddelivery.api.security.services.UserDetailsImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Sixteen threads advancing the status of the same few orders through updateOrderStatus, as the kitchen and couriers
+// do. Each call reads the order's status and asks for the next one; a delivered order is reset to RECEIVED so the run
+// keeps cycling. The counters split calls into applied transitions, 409 conflicts (another thread moved the order
+// between the read and the conditional update), 400 rejections (the read was already stale) and no-ops. After the
+// run every applied transition must still be visible in the orders' final statuses; a lost update fails the trial.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class OrderStatusContentionBenchmark {
+    // Transitions from RECEIVED to DELIVERED along the happy path
+    private static final int TRANSITIONS_PER_CYCLE = 4;
+
+    @Param({"1", "8", "64"})
+    private int hotOrders;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRepository orderRepository;
+    private TransactionTemplate transactionTemplate;
+    private long[] orderIds;
+    private final AtomicLong appliedTotal = new AtomicLong();
+    private final AtomicLong resetsTotal = new AtomicLong();
+    // The status-changed event is published synchronously on the calling thread, and only when a write was applied
+    private final ThreadLocal<Outcomes> callerOutcomes = new ThreadLocal<>();
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Outcomes {
+        public long applied;
+        public long conflicts;
+        public long rejected;
+        public long noops;
+        public long resets;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("order-status-contention");
+        orderService = context.getBean(OrderService.class);
+        orderRepository = context.getBean(OrderRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        User customer = new User("bench-customer", "bench-customer@example.com", "not-used", "Bench Customer");
+        customer.setRoles(new HashSet<>(List.of(context.getBean(RoleRegistry.class).get(ERole.ROLE_USER))));
+        customer = context.getBean(UserRepository.class).save(customer);
+        Address address = context.getBean(AddressRepository.class).save(new Address(null, "1 Market Street",
+                "San Francisco", "CA", "94103", 37.7749, -122.4194, null, true, customer));
+
+        Restaurant restaurant = new Restaurant();
+        restaurant.setName("Bench Kitchen");
+        restaurant.setCuisine(new HashSet<>(List.of("Thai")));
+        restaurant.setDeliveryFee(new BigDecimal("2.49"));
+        restaurant.setMinOrder(new BigDecimal("10.00"));
+        restaurant.setOwner(customer);
+        restaurant = context.getBean(RestaurantRepository.class).save(restaurant);
+
+        MenuItem menuItem = new MenuItem();
+        menuItem.setName("Dish");
+        menuItem.setPrice(new BigDecimal("12.50"));
+        menuItem.setCategory("Mains");
+        menuItem.setAvailable(true);
+        menuItem.setRestaurant(restaurant);
+        menuItem = context.getBean(MenuItemRepository.class).save(menuItem);
+
+        OrderItemRequest item = new OrderItemRequest();
+        item.setMenuItemId(menuItem.getId());
+        item.setQuantity(1);
+        OrderRequest orderRequest = new OrderRequest();
+        orderRequest.setRestaurantId(restaurant.getId());
+        orderRequest.setDeliveryAddressId(address.getId());
+        orderRequest.setPaymentMethod(PaymentMethod.CREDIT_CARD);
+        orderRequest.setItems(List.of(item));
+
+        UserDetailsImpl principal = UserDetailsImpl.build(customer);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        orderIds = new long[hotOrders];
+        for (int i = 0; i < hotOrders; i++) {
+            orderIds[i] = BenchmarkApplication.inRequest(() -> orderService.createOrder(orderRequest)).getId();
+        }
+        SecurityContextHolder.clearContext();
+
+        context.addApplicationListener((PayloadApplicationEvent<?> event) -> {
+            Outcomes outcomes = callerOutcomes.get();
+            if (event.getPayload() instanceof OrderStatusChangedEvent && outcomes != null) {
+                appliedTotal.incrementAndGet();
+                outcomes.applied++;
+            }
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        try {
+            long reached = 0;
+            for (long id : orderIds) {
+                reached += orderRepository.findStatusById(id).orElseThrow().ordinal();
+            }
+            long expected = resetsTotal.get() * TRANSITIONS_PER_CYCLE + reached;
+            if (expected != appliedTotal.get()) {
+                throw new IllegalStateException("Lost status updates: " + appliedTotal.get()
+                        + " transitions applied but the orders account for " + expected);
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public void advanceStatus(Outcomes outcomes) {
+        long id = orderIds[ThreadLocalRandom.current().nextInt(orderIds.length)];
+        OrderStatus current = orderRepository.findStatusById(id).orElseThrow();
+
+        if (current == OrderStatus.DELIVERED) {
+            Integer reset = transactionTemplate.execute(status -> orderRepository.updateStatusIfCurrent(
+                    id, OrderStatus.DELIVERED, OrderStatus.RECEIVED, LocalDateTime.now(), null));
+            if (reset != null && reset == 1) {
+                resetsTotal.incrementAndGet();
+                outcomes.resets++;
+            }
+            return;
+        }
+
+        OrderStatus next = current.nextStatuses().stream()
+                .filter(candidate -> candidate != OrderStatus.CANCELLED)
+                .findFirst()
+                .orElseThrow();
+        long appliedBefore = outcomes.applied;
+        callerOutcomes.set(outcomes);
+        try {
+            orderService.updateOrderStatus(id, next);
+            // A call that finds the order already at the requested status returns without writing
+            if (outcomes.applied == appliedBefore) {
+                outcomes.noops++;
+            }
+        } catch (ConflictException e) {
+            outcomes.conflicts++;
+        } catch (BadRequestException e) {
+            outcomes.rejected++;
+        } finally {
+            callerOutcomes.remove();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.fooddelivery.api.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-endpoint latency histogram (microseconds, 3 significant digits) and error count
+public class EndpointStats {
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final AtomicLong errors = new AtomicLong();
+
+    public EndpointStats(String name) {
+        this.name = name;
+    }
+
+    public void record(long elapsedNanos, boolean success) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), latencies.getHighestTrackableValue()));
+        if (!success) {
+            errors.incrementAndGet();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, Object> summary(double durationSeconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("endpoint", name);
+        summary.put("requests", latencies.getTotalCount());
+        summary.put("errors", errors.get());
+        summary.put("throughputPerSec", round(latencies.getTotalCount() / durationSeconds));
+        summary.put("p50Ms", millis(latencies.getValueAtPercentile(50)));
+        summary.put("p90Ms", millis(latencies.getValueAtPercentile(90)));
+        summary.put("p99Ms", millis(latencies.getValueAtPercentile(99)));
+        summary.put("p999Ms", millis(latencies.getValueAtPercentile(99.9)));
+        summary.put("maxMs", millis(latencies.getMaxValue()));
+        return summary;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
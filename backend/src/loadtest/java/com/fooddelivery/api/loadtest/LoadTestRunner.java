@@ -0,0 +1,375 @@
+package com.fooddelivery.api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fooddelivery.api.FoodDeliveryApplication;
+import com.fooddelivery.api.model.OrderStatus;
+import com.fooddelivery.api.service.SearchIndexService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+
+// Boots the API against an in-memory MySQL-mode H2 database, seeds a catalog and drives a weighted traffic mix.
+// Tuned through system properties (see the loadtest.* keys below); any Spring property can be overridden the same
+// way. -Dloadtest.scenario=catalog-cache runs anonymous catalog traffic twice, with spring.cache.type=none and with
+// the cache as configured, and writes both runs to the result file. -Dloadtest.scenario=response-footprint reports
+// SQL statements and bytes per response for the order-history and restaurant endpoints instead of load.
+// -Dloadtest.scenario=order-number stress-tests order number generation for collisions without booting the API.
+// -Dloadtest.scenario=thread-modes runs the mixed traffic twice, on platform and on virtual request threads (needs a
+// Java 21+ runtime), for throughput and tail latency side by side. -Dloadtest.datasource-url points any scenario at a
+// scratch MySQL database instead of H2, which is what the driver's virtual-thread behaviour needs; its tables are
+// dropped when the run ends.
+public class LoadTestRunner {
+    private static final String SCENARIO = System.getProperty("loadtest.scenario", "mixed");
+    private static final int USERS = Integer.getInteger("loadtest.users", 32);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.duration-seconds", 60);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 10);
+    private static final int CUSTOMERS = Integer.getInteger("loadtest.customers", 200);
+    private static final int RESTAURANTS = Integer.getInteger("loadtest.restaurants", 200);
+    private static final int MENU_ITEMS = Integer.getInteger("loadtest.menu-items-per-restaurant", 40);
+    private static final String RESULT_FILE = System.getProperty("loadtest.result-file", "target/loadtest-result.json");
+    private static final String DATASOURCE_URL = System.getProperty("loadtest.datasource-url");
+
+    // Relative weights of the traffic mix
+    private static final TrafficMix MIXED = new TrafficMix(
+            Integer.getInteger("loadtest.weight.signin", 5),
+            Integer.getInteger("loadtest.weight.restaurants", 35),
+            Integer.getInteger("loadtest.weight.restaurant", 0),
+            Integer.getInteger("loadtest.weight.cuisine", 0),
+            Integer.getInteger("loadtest.weight.menu", 35),
+            Integer.getInteger("loadtest.weight.create-order", 15),
+            Integer.getInteger("loadtest.weight.status-update", 10));
+    // The three cached catalog reads only, so the cache-off and cache-on runs differ in nothing else
+    private static final TrafficMix CATALOG = new TrafficMix(0, 40, 40, 20, 0, 0, 0);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final Queue<long[]> activeOrders = new ConcurrentLinkedQueue<>();
+    private final LoadTestSeeder seeder;
+    private final String baseUrl;
+    private final boolean virtualThreads;
+    private final TrafficMix mix;
+    private volatile boolean recording;
+
+    public static void main(String[] args) throws Exception {
+        Object result;
+        if ("catalog-cache".equals(SCENARIO)) {
+            Map<String, Object> comparison = new LinkedHashMap<>();
+            comparison.put("scenario", SCENARIO);
+            comparison.put("cacheOff", runScenario("cache-off", CATALOG, "--spring.cache.type=none"));
+            comparison.put("cacheOn", runScenario("cache-on", CATALOG));
+            result = comparison;
+        } else if ("response-footprint".equals(SCENARIO)) {
+            result = ResponseFootprintReport.measure();
+        } else if ("thread-modes".equals(SCENARIO)) {
+            Map<String, Object> comparison = new LinkedHashMap<>();
+            comparison.put("scenario", SCENARIO);
+            comparison.put("platformThreads", runScenario("platform-threads", MIXED, "--app.threads.virtual=false"));
+            comparison.put("virtualThreads", runScenario("virtual-threads", MIXED, "--app.threads.virtual=true"));
+            result = comparison;
+        } else if ("order-number".equals(SCENARIO)) {
+            result = OrderNumberStressTest.run();
+        } else {
+            result = runScenario(SCENARIO, MIXED);
+        }
+        writeResult(result);
+    }
+
+    // One boot of the application on its own database, seeded and driven with the given mix
+    private static Map<String, Object> runScenario(String name, TrafficMix mix, String... overrides) throws Exception {
+        ConfigurableApplicationContext context = startApplication(name, overrides);
+        try {
+            LoadTestSeeder seeder = new LoadTestSeeder(context);
+            seeder.seed(CUSTOMERS, RESTAURANTS, MENU_ITEMS);
+            context.getBean(SearchIndexService.class).rebuild();
+
+            boolean virtualThreads = context.getEnvironment().getProperty("app.threads.virtual", Boolean.class, false);
+            String cacheType = context.getEnvironment().getProperty("spring.cache.type", "caffeine");
+
+            System.out.printf("%n== %s (spring.cache.type=%s) ==%n", name, cacheType);
+            Map<String, Object> result = new LoadTestRunner(seeder, baseUrl(context), virtualThreads, mix).run();
+            result.put("cacheType", cacheType);
+            return result;
+        } finally {
+            context.close();
+        }
+    }
+
+    // Boots the API on a random port against its own in-memory database, or the scratch database given
+    static ConfigurableApplicationContext startApplication(String name, String... overrides) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.fooddelivery=INFO"));
+        if (DATASOURCE_URL != null) {
+            args.addAll(List.of(
+                    "--spring.datasource.url=" + DATASOURCE_URL,
+                    "--spring.datasource.username=" + System.getProperty("loadtest.datasource-username", "root"),
+                    "--spring.datasource.password=" + System.getProperty("loadtest.datasource-password", "")));
+        } else {
+            args.addAll(List.of(
+                    "--spring.datasource.url=jdbc:h2:mem:loadtest-" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"));
+        }
+        args.addAll(List.of(overrides));
+        return SpringApplication.run(FoodDeliveryApplication.class, args.toArray(new String[0]));
+    }
+
+    static String baseUrl(ConfigurableApplicationContext context) {
+        String port = context.getEnvironment().getProperty("local.server.port");
+        String contextPath = context.getEnvironment().getProperty("server.servlet.context-path", "");
+        return "http://localhost:" + port + contextPath;
+    }
+
+    LoadTestRunner(LoadTestSeeder seeder, String baseUrl, boolean virtualThreads, TrafficMix mix) {
+        this.seeder = seeder;
+        this.baseUrl = baseUrl;
+        this.virtualThreads = virtualThreads;
+        this.mix = mix;
+        for (String endpoint : List.of("POST /auth/signin", "GET /restaurants", "GET /restaurants/{id}",
+                "GET /restaurants/cuisine/{cuisine}", "GET /menu-items/restaurant/{id}",
+                "POST /orders", "PUT /orders/{id}/status")) {
+            stats.put(endpoint, new EndpointStats(endpoint));
+        }
+    }
+
+    Map<String, Object> run() throws Exception {
+        String adminToken = mix.needsSignIn() ? signIn(LoadTestSeeder.ADMIN_USERNAME) : null;
+        ExecutorService workers = Executors.newFixedThreadPool(USERS);
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+
+        System.out.printf("Load test: %d virtual users, %ds warm-up, %ds measured, %d restaurants x %d menu items, %s request threads%n",
+                USERS, WARMUP_SECONDS, DURATION_SECONDS, RESTAURANTS, MENU_ITEMS, virtualThreads ? "virtual" : "platform");
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int u = 0; u < USERS; u++) {
+            String username = seeder.customerUsernames.get(u % seeder.customerUsernames.size());
+            long seed = u;
+            futures.add(workers.submit(() -> {
+                virtualUser(username, adminToken, new Random(seed), end);
+                return null;
+            }));
+        }
+
+        while (System.nanoTime() < warmupEnd) {
+            Thread.sleep(100);
+        }
+        recording = true;
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        workers.shutdown();
+        return report();
+    }
+
+    private void virtualUser(String username, String adminToken, Random random, long end) throws Exception {
+        String token = mix.needsSignIn() ? trySignIn(username) : null;
+
+        while (System.nanoTime() < end) {
+            int pick = random.nextInt(mix.totalWeight());
+            Long restaurantId = seeder.restaurantIds.get(random.nextInt(seeder.restaurantIds.size()));
+
+            if ((pick -= mix.signin) < 0) {
+                String refreshed = trySignIn(username);
+                if (refreshed != null) {
+                    token = refreshed;
+                }
+            } else if ((pick -= mix.restaurants) < 0) {
+                send("GET /restaurants", HttpRequest.newBuilder(uri("/restaurants?size=20")).GET(), null);
+            } else if ((pick -= mix.restaurant) < 0) {
+                send("GET /restaurants/{id}", HttpRequest.newBuilder(uri("/restaurants/" + restaurantId)).GET(), null);
+            } else if ((pick -= mix.cuisine) < 0) {
+                String cuisine = LoadTestSeeder.CUISINES[random.nextInt(LoadTestSeeder.CUISINES.length)];
+                send("GET /restaurants/cuisine/{cuisine}", HttpRequest.newBuilder(
+                        uri("/restaurants/cuisine/" + URLEncoder.encode(cuisine, StandardCharsets.UTF_8).replace("+", "%20"))).GET(), null);
+            } else if ((pick -= mix.menu) < 0) {
+                send("GET /menu-items/restaurant/{id}",
+                        HttpRequest.newBuilder(uri("/menu-items/restaurant/" + restaurantId)).GET(), null);
+            } else if ((pick -= mix.createOrder) < 0) {
+                createOrder(token, username, restaurantId, random);
+            } else {
+                advanceOrder(adminToken);
+            }
+        }
+    }
+
+    private String signIn(String username) throws Exception {
+        String token = trySignIn(username);
+        if (token == null) {
+            throw new IllegalStateException("Sign-in failed for " + username);
+        }
+        return token;
+    }
+
+    // A failed sign-in is already counted as an error; the virtual user carries on with the token it has
+    private String trySignIn(String username) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of("username", username, "password", LoadTestSeeder.PASSWORD));
+        JsonNode response = send("POST /auth/signin", HttpRequest.newBuilder(uri("/auth/signin"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)), null);
+        return response != null ? response.get("token").asText() : null;
+    }
+
+    private void createOrder(String token, String username, Long restaurantId, Random random) throws Exception {
+        List<Long> menuItemIds = seeder.menuItemIdsByRestaurant.get(restaurantId);
+        List<Map<String, Object>> items = new ArrayList<>();
+        int lines = 1 + random.nextInt(5);
+        for (int i = 0; i < lines; i++) {
+            items.add(Map.of("menuItemId", menuItemIds.get(random.nextInt(menuItemIds.size())), "quantity", 1 + random.nextInt(3)));
+        }
+
+        Map<String, Object> order = new HashMap<>();
+        order.put("restaurantId", restaurantId);
+        order.put("deliveryAddressId", seeder.addressIdByUsername.get(username));
+        order.put("paymentMethod", "CREDIT_CARD");
+        order.put("items", items);
+
+        JsonNode response = send("POST /orders", HttpRequest.newBuilder(uri("/orders"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(order))), token);
+        if (response != null) {
+            activeOrders.add(new long[]{response.get("id").asLong(), OrderStatus.RECEIVED.ordinal()});
+        }
+    }
+
+    private void advanceOrder(String adminToken) throws Exception {
+        long[] order = activeOrders.poll();
+        if (order == null) {
+            return;
+        }
+
+        OrderStatus next = nextStatus(OrderStatus.values()[(int) order[1]]);
+        JsonNode response = send("PUT /orders/{id}/status",
+                HttpRequest.newBuilder(uri("/orders/" + order[0] + "/status?status=" + next))
+                        .PUT(HttpRequest.BodyPublishers.noBody()), adminToken);
+        if (response != null && !next.isTerminal()) {
+            activeOrders.add(new long[]{order[0], next.ordinal()});
+        }
+    }
+
+    private static OrderStatus nextStatus(OrderStatus status) {
+        return status.nextStatuses().stream()
+                .filter(candidate -> candidate != OrderStatus.CANCELLED)
+                .findFirst()
+                .orElse(OrderStatus.CANCELLED);
+    }
+
+    private JsonNode send(String endpoint, HttpRequest.Builder request, String token) throws Exception {
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+
+        long start = System.nanoTime();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            // Timeouts (HttpTimeoutException) and refused or reset connections are failed requests, not a failed run
+            if (recording) {
+                stats.get(endpoint).record(System.nanoTime() - start, false);
+            }
+            return null;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        boolean success = response.statusCode() / 100 == 2;
+        if (recording) {
+            stats.get(endpoint).record(elapsed, success);
+        }
+        return success ? objectMapper.readTree(response.body()) : null;
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private Map<String, Object> report() {
+        List<Map<String, Object>> summaries = new ArrayList<>();
+        long totalRequests = 0;
+        for (EndpointStats endpointStats : stats.values()) {
+            Map<String, Object> summary = endpointStats.summary(DURATION_SECONDS);
+            if ((Long) summary.get("requests") == 0) {
+                continue;
+            }
+            summaries.add(summary);
+            totalRequests += (Long) summary.get("requests");
+        }
+
+        System.out.printf("%n%-34s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map<String, Object> summary : summaries) {
+            System.out.printf("%-34s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    summary.get("endpoint"), summary.get("requests"), summary.get("errors"),
+                    summary.get("throughputPerSec"), summary.get("p50Ms"), summary.get("p90Ms"),
+                    summary.get("p99Ms"), summary.get("p999Ms"), summary.get("maxMs"));
+        }
+        System.out.printf("Total throughput: %.1f req/s%n", totalRequests / (double) DURATION_SECONDS);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("users", USERS);
+        result.put("virtualThreads", virtualThreads);
+        result.put("durationSeconds", DURATION_SECONDS);
+        result.put("throughputPerSec", Math.round(totalRequests * 10.0 / DURATION_SECONDS) / 10.0);
+        result.put("restaurants", RESTAURANTS);
+        result.put("menuItemsPerRestaurant", MENU_ITEMS);
+        result.put("endpoints", summaries);
+        return result;
+    }
+
+    private static void writeResult(Object result) throws Exception {
+        File resultFile = new File(RESULT_FILE);
+        if (resultFile.getParentFile() != null) {
+            resultFile.getParentFile().mkdirs();
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(resultFile, result);
+        System.out.println("Results written to " + resultFile.getAbsolutePath());
+    }
+
+    // Relative weights of the endpoints a virtual user picks from
+    static final class TrafficMix {
+        final int signin;
+        final int restaurants;
+        final int restaurant;
+        final int cuisine;
+        final int menu;
+        final int createOrder;
+        final int statusUpdate;
+
+        TrafficMix(int signin, int restaurants, int restaurant, int cuisine, int menu, int createOrder, int statusUpdate) {
+            this.signin = signin;
+            this.restaurants = restaurants;
+            this.restaurant = restaurant;
+            this.cuisine = cuisine;
+            this.menu = menu;
+            this.createOrder = createOrder;
+            this.statusUpdate = statusUpdate;
+        }
+
+        int totalWeight() {
+            return signin + restaurants + restaurant + cuisine + menu + createOrder + statusUpdate;
+        }
+
+        boolean needsSignIn() {
+            return signin + createOrder + statusUpdate > 0;
+        }
+    }
+}
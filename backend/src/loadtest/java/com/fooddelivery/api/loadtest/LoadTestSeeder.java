@@ -0,0 +1,105 @@
+package com.fooddelivery.api.loadtest;
+
+import com.fooddelivery.api.model.*;
+import com.fooddelivery.api.repository.*;
+import com.fooddelivery.api.service.RoleRegistry;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+// Seeds a configurable catalog straight through the repositories; ids are kept for the traffic generator
+public class LoadTestSeeder {
+    static final String PASSWORD = "loadtest-password";
+    static final String ADMIN_USERNAME = "loadtest-admin";
+
+    static final String[] CUISINES = {"Pizza", "Burger", "Chinese", "North Indian", "South Indian",
+            "Biryani", "Italian", "Mexican", "Thai", "Sushi", "Healthy", "Desserts"};
+    private static final String[] CATEGORIES = {"Starters", "Mains", "Sides", "Desserts", "Beverages"};
+
+    private final UserRepository userRepository;
+    private final RoleRegistry roleRegistry;
+    private final AddressRepository addressRepository;
+    private final RestaurantRepository restaurantRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    final List<String> customerUsernames = new ArrayList<>();
+    final Map<String, Long> addressIdByUsername = new HashMap<>();
+    final List<Long> restaurantIds = new ArrayList<>();
+    final Map<Long, List<Long>> menuItemIdsByRestaurant = new HashMap<>();
+
+    public LoadTestSeeder(ConfigurableApplicationContext context) {
+        this.userRepository = context.getBean(UserRepository.class);
+        this.roleRegistry = context.getBean(RoleRegistry.class);
+        this.addressRepository = context.getBean(AddressRepository.class);
+        this.restaurantRepository = context.getBean(RestaurantRepository.class);
+        this.menuItemRepository = context.getBean(MenuItemRepository.class);
+        this.passwordEncoder = context.getBean(PasswordEncoder.class);
+    }
+
+    public void seed(int customers, int restaurants, int menuItemsPerRestaurant) {
+        // One hash for every account: BCrypt per seeded user would dominate start-up time
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+        Role userRole = role(ERole.ROLE_USER);
+
+        User admin = new User(ADMIN_USERNAME, "admin@loadtest.local", passwordHash, "Load Test Admin");
+        admin.setRoles(new HashSet<>(List.of(role(ERole.ROLE_ADMIN), role(ERole.ROLE_RESTAURANT))));
+        admin = userRepository.save(admin);
+
+        List<User> users = new ArrayList<>(customers);
+        for (int i = 0; i < customers; i++) {
+            User user = new User("customer" + i, "customer" + i + "@loadtest.local", passwordHash, "Customer " + i);
+            user.setRoles(new HashSet<>(List.of(userRole)));
+            users.add(user);
+        }
+        users = userRepository.saveAll(users);
+
+        List<Address> addresses = new ArrayList<>(customers);
+        for (User user : users) {
+            addresses.add(new Address(null, (100 + user.getId()) + " Market Street", "San Francisco", "CA", "94103",
+                    37.7749, -122.4194, null, true, user));
+        }
+        for (Address address : addressRepository.saveAll(addresses)) {
+            customerUsernames.add(address.getUser().getUsername());
+            addressIdByUsername.put(address.getUser().getUsername(), address.getId());
+        }
+
+        Random random = new Random(42);
+        for (int r = 0; r < restaurants; r++) {
+            Restaurant restaurant = new Restaurant();
+            restaurant.setName("Load Test Kitchen " + r);
+            restaurant.setDescription("Seeded restaurant number " + r);
+            restaurant.setCuisine(new HashSet<>(List.of(CUISINES[r % CUISINES.length], CUISINES[(r + 5) % CUISINES.length])));
+            restaurant.setRating(3.5 + random.nextInt(15) / 10.0);
+            restaurant.setDeliveryTime("25-35 min");
+            restaurant.setDeliveryFee(new BigDecimal("2.49"));
+            restaurant.setMinOrder(new BigDecimal("10.00"));
+            restaurant.setOwner(admin);
+            restaurant = restaurantRepository.save(restaurant);
+            restaurantIds.add(restaurant.getId());
+
+            List<MenuItem> menuItems = new ArrayList<>(menuItemsPerRestaurant);
+            for (int m = 0; m < menuItemsPerRestaurant; m++) {
+                MenuItem menuItem = new MenuItem();
+                menuItem.setName("Dish " + r + "-" + m);
+                menuItem.setDescription("Seeded dish " + m + " of restaurant " + r);
+                menuItem.setPrice(BigDecimal.valueOf(499 + random.nextInt(1500), 2));
+                menuItem.setCategory(CATEGORIES[m % CATEGORIES.length]);
+                menuItem.setAvailable(true);
+                menuItem.setRestaurant(restaurant);
+                menuItems.add(menuItem);
+            }
+            List<Long> menuItemIds = new ArrayList<>(menuItemsPerRestaurant);
+            for (MenuItem menuItem : menuItemRepository.saveAll(menuItems)) {
+                menuItemIds.add(menuItem.getId());
+            }
+            menuItemIdsByRestaurant.put(restaurant.getId(), menuItemIds);
+        }
+    }
+
+    private Role role(ERole name) {
+        return roleRegistry.get(name);
+    }
+}
@@ -0,0 +1,100 @@
+package com.fooddelivery.api.loadtest;
+
+import com.fooddelivery.api.service.OrderNumberGenerator;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+// Hammers OrderNumberGenerator from many threads across several simulated nodes and checks every id it handed out:
+// no duplicates across all nodes, strictly increasing within each thread, and at least the required rate. Needs no
+// application context. Selected with -Dloadtest.scenario=order-number; fails the run when a check does not hold.
+final class OrderNumberStressTest {
+    private static final int THREADS = Integer.getInteger("loadtest.order-number.threads", 16);
+    private static final int NODES = Integer.getInteger("loadtest.order-number.nodes", 4);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadtest.order-number.duration-seconds", 5);
+    // Caps memory: every id is kept until the duplicate check
+    private static final int MAX_IDS = Integer.getInteger("loadtest.order-number.max-ids", 50_000_000);
+    private static final long MIN_IDS_PER_SECOND = Long.getLong("loadtest.order-number.min-ids-per-second", 100_000);
+
+    private OrderNumberStressTest() {
+    }
+
+    static Map<String, Object> run() throws Exception {
+        OrderNumberGenerator[] generators = new OrderNumberGenerator[NODES];
+        for (int node = 0; node < NODES; node++) {
+            generators[node] = new OrderNumberGenerator(node, true);
+        }
+
+        int perThread = MAX_IDS / THREADS;
+        ExecutorService workers = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            OrderNumberGenerator generator = generators[t % NODES];
+            futures.add(workers.submit(() -> {
+                long[] ids = new long[perThread];
+                start.await();
+                long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+                int count = 0;
+                // Checking the clock every 1024 ids keeps System.nanoTime out of the measured rate
+                while (count < ids.length && ((count & 1023) != 0 || System.nanoTime() < end)) {
+                    ids[count++] = generator.nextId();
+                }
+                return Arrays.copyOf(ids, count);
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        List<long[]> perThreadIds = new ArrayList<>();
+        for (Future<long[]> future : futures) {
+            perThreadIds.add(future.get());
+        }
+        double elapsedSeconds = (System.nanoTime() - begin) / 1e9;
+        workers.shutdown();
+
+        long outOfOrder = 0;
+        int total = 0;
+        for (long[] ids : perThreadIds) {
+            for (int i = 1; i < ids.length; i++) {
+                if (ids[i] <= ids[i - 1]) {
+                    outOfOrder++;
+                }
+            }
+            total += ids.length;
+        }
+
+        long[] all = new long[total];
+        int offset = 0;
+        for (long[] ids : perThreadIds) {
+            System.arraycopy(ids, 0, all, offset, ids.length);
+            offset += ids.length;
+        }
+        Arrays.parallelSort(all);
+        long duplicates = 0;
+        for (int i = 1; i < all.length; i++) {
+            if (all[i] == all[i - 1]) {
+                duplicates++;
+            }
+        }
+
+        double idsPerSecond = total / elapsedSeconds;
+        System.out.printf("%nOrder numbers: %d threads over %d nodes, %d ids in %.2fs = %.0f ids/s, %d duplicates, %d out of order%n",
+                THREADS, NODES, total, elapsedSeconds, idsPerSecond, duplicates, outOfOrder);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("scenario", "order-number");
+        result.put("threads", THREADS);
+        result.put("nodes", NODES);
+        result.put("ids", total);
+        result.put("elapsedSeconds", elapsedSeconds);
+        result.put("idsPerSecond", idsPerSecond);
+        result.put("duplicates", duplicates);
+        result.put("outOfOrder", outOfOrder);
+
+        if (duplicates > 0 || outOfOrder > 0 || idsPerSecond < MIN_IDS_PER_SECOND) {
+            throw new IllegalStateException("Order number stress test failed: " + result);
+        }
+        return result;
+    }
+}
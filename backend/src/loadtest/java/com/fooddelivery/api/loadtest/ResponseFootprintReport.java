@@ -0,0 +1,144 @@
+package com.fooddelivery.api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.*;
+
+// SQL statements and response bytes per request for the projection endpoints. Requests run one at a time with the
+// Spring and second-level caches off and the background jobs stopped, so each figure is the endpoint's fetch plan
+// rather than a cache hit or a concurrent poll. Selected with -Dloadtest.scenario=response-footprint.
+final class ResponseFootprintReport {
+    private static final int ORDERS = Integer.getInteger("loadtest.footprint.orders", 20);
+    private static final int ITEMS_PER_ORDER = Integer.getInteger("loadtest.footprint.items-per-order", 3);
+    private static final int SAMPLES = 5;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final Statistics statistics;
+    private final String baseUrl;
+
+    private ResponseFootprintReport(Statistics statistics, String baseUrl) {
+        this.statistics = statistics;
+        this.baseUrl = baseUrl;
+    }
+
+    static Map<String, Object> measure() throws Exception {
+        ConfigurableApplicationContext context = LoadTestRunner.startApplication("footprint",
+                "--spring.cache.type=none",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                "--app.outbox.dispatcher-enabled=false",
+                "--app.orders.archive.enabled=false");
+        try {
+            LoadTestSeeder seeder = new LoadTestSeeder(context);
+            seeder.seed(1, 1, Math.max(10, ITEMS_PER_ORDER));
+
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            return new ResponseFootprintReport(statistics, LoadTestRunner.baseUrl(context)).run(seeder);
+        } finally {
+            context.close();
+        }
+    }
+
+    private Map<String, Object> run(LoadTestSeeder seeder) throws Exception {
+        String username = seeder.customerUsernames.get(0);
+        Long restaurantId = seeder.restaurantIds.get(0);
+        String token = signIn(username);
+        for (int i = 0; i < ORDERS; i++) {
+            createOrder(token, seeder.addressIdByUsername.get(username), restaurantId,
+                    seeder.menuItemIdsByRestaurant.get(restaurantId));
+        }
+
+        List<Map<String, Object>> endpoints = List.of(
+                footprint("GET /orders/user", "/orders/user?size=" + ORDERS, token),
+                footprint("GET /restaurants/{id}", "/restaurants/" + restaurantId, null));
+
+        System.out.printf("%n%-24s %8s %14s %14s %10s%n", "endpoint", "rows", "min stmts", "max stmts", "bytes");
+        for (Map<String, Object> endpoint : endpoints) {
+            System.out.printf("%-24s %8d %14d %14d %10d%n", endpoint.get("endpoint"), endpoint.get("rows"),
+                    endpoint.get("minStatements"), endpoint.get("maxStatements"), endpoint.get("bytes"));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("orders", ORDERS);
+        result.put("itemsPerOrder", ITEMS_PER_ORDER);
+        result.put("endpoints", endpoints);
+        return result;
+    }
+
+    private Map<String, Object> footprint(String endpoint, String path, String token) throws Exception {
+        long minStatements = Long.MAX_VALUE;
+        long maxStatements = 0;
+        byte[] body = new byte[0];
+        for (int sample = 0; sample < SAMPLES; sample++) {
+            long before = statistics.getPrepareStatementCount();
+            body = get(path, token);
+            long statements = statistics.getPrepareStatementCount() - before;
+            minStatements = Math.min(minStatements, statements);
+            maxStatements = Math.max(maxStatements, statements);
+        }
+
+        JsonNode json = objectMapper.readTree(body);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("endpoint", endpoint);
+        summary.put("rows", json.isArray() ? json.size() : 1);
+        summary.put("minStatements", minStatements);
+        summary.put("maxStatements", maxStatements);
+        summary.put("bytes", body.length);
+        return summary;
+    }
+
+    private byte[] get(String path, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private String signIn(String username) throws Exception {
+        String body = objectMapper.writeValueAsString(Map.of("username", username, "password", LoadTestSeeder.PASSWORD));
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/auth/signin"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Sign-in failed for " + username + ": " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+
+    private void createOrder(String token, Long addressId, Long restaurantId, List<Long> menuItemIds) throws Exception {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            items.add(Map.of("menuItemId", menuItemIds.get(i), "quantity", 1));
+        }
+
+        Map<String, Object> order = new HashMap<>();
+        order.put("restaurantId", restaurantId);
+        order.put("deliveryAddressId", addressId);
+        order.put("paymentMethod", "CREDIT_CARD");
+        order.put("items", items);
+
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(URI.create(baseUrl + "/orders"))
+                .header("Content-Type", "application/json")
+                .header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(order))).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Order creation failed: " + response.statusCode() + " " + response.body());
+        }
+    }
+}
@@ -1,24 +1,53 @@
 package com.fooddelivery.api.config;
 
-import com.fooddelivery.api.model.ERole;
-import com.fooddelivery.api.model.Role;
-import com.fooddelivery.api.repository.RoleRepository;
+import com.fooddelivery.api.model.Order;
+import com.fooddelivery.api.model.OrderItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
 
+// Runs once all singletons exist: Hibernate has created or updated the schema by then, and the web server and
+// schedulers have not started, so nothing can insert an order before the id sequences are moved
 @Component
-public class DatabaseInitializer implements CommandLineRunner {
+public class DatabaseInitializer implements SmartInitializingSingleton {
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseInitializer.class);
+
+    // Keeps a whole pooled block clear of ids handed out while the tables were still AUTO_INCREMENT
+    private static final int ID_SEQUENCE_HEADROOM = 100;
+
     @Autowired
-    private RoleRepository roleRepository;
+    private JdbcTemplate jdbcTemplate;
 
     @Override
-    public void run(String... args) throws Exception {
-        // Initialize roles if they don't exist
-        for (ERole role : ERole.values()) {
-            if (!roleRepository.findByName(role).isPresent()) {
-                roleRepository.save(new Role(role));
-            }
+    public void afterSingletonsInstantiated() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if (product != null && product.toLowerCase().contains("mysql")) {
+            advanceIdSequence(Order.ID_SEQUENCE, "orders");
+            advanceIdSequence(OrderItem.ID_SEQUENCE, "order_items");
+        }
+    }
+
+    // Orders and order items moved from IDENTITY to pooled ids. MySQL has no sequences, so Hibernate keeps each
+    // one as a single-row next_val table that starts at 1; move it past the existing rows before anything is
+    // inserted. Idempotent, so it is safe on every start.
+    private void advanceIdSequence(String sequenceTable, String table) {
+        Long floor = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(id), 0) + " + ID_SEQUENCE_HEADROOM + " FROM " + table, Long.class);
+        int updated = jdbcTemplate.update(
+                "UPDATE " + sequenceTable + " SET next_val = ? WHERE next_val < ?", floor, floor);
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + sequenceTable, Integer.class);
+        if (rows == null || rows == 0) {
+            jdbcTemplate.update("INSERT INTO " + sequenceTable + " (next_val) VALUES (?)", floor);
+            updated = 1;
+        }
+
+        if (updated > 0) {
+            logger.info("Advanced id sequence {} to {} past existing {} rows", sequenceTable, floor, table);
         }
     }
 }
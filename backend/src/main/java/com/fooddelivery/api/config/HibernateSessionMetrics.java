@@ -0,0 +1,60 @@
+package com.fooddelivery.api.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Metrics;
+import org.hibernate.SessionEventListener;
+
+// Registered through hibernate.session.events.auto, so Hibernate creates one instance per session.
+// With open-in-view a session spans the whole request, which makes these per-request figures.
+public class HibernateSessionMetrics implements SessionEventListener {
+    private static final DistributionSummary STATEMENTS = DistributionSummary.builder("hibernate.session.statements")
+            .description("JDBC statements and batches executed per session")
+            .publishPercentileHistogram()
+            .register(Metrics.globalRegistry);
+    private static final DistributionSummary CACHE_HITS = DistributionSummary.builder("hibernate.session.cache.hits")
+            .description("Second-level cache hits per session")
+            .register(Metrics.globalRegistry);
+    private static final DistributionSummary CACHE_MISSES = DistributionSummary.builder("hibernate.session.cache.misses")
+            .description("Second-level cache misses per session")
+            .register(Metrics.globalRegistry);
+    private static final DistributionSummary FLUSHED_ENTITIES = DistributionSummary.builder("hibernate.session.flushed.entities")
+            .description("Entities processed by flushes per session")
+            .register(Metrics.globalRegistry);
+
+    private int statements;
+    private int cacheHits;
+    private int cacheMisses;
+    private int flushedEntities;
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        statements++;
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        statements++;
+    }
+
+    @Override
+    public void cacheGetEnd(boolean hit) {
+        if (hit) {
+            cacheHits++;
+        } else {
+            cacheMisses++;
+        }
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        flushedEntities += numberOfEntities;
+    }
+
+    @Override
+    public void end() {
+        STATEMENTS.record(statements);
+        CACHE_HITS.record(cacheHits);
+        CACHE_MISSES.record(cacheMisses);
+        FLUSHED_ENTITIES.record(flushedEntities);
+    }
+}
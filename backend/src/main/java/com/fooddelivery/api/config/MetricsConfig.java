@@ -0,0 +1,40 @@
+package com.fooddelivery.api.config;
+
+import com.fooddelivery.api.service.OrderStatusHub;
+import com.fooddelivery.api.service.OutboxService;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Enables @Timed on service methods
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterBinder orderEventMetrics(OutboxService outboxService, OrderStatusHub orderStatusHub) {
+        return registry -> {
+            Gauge.builder("outbox.lag", outboxService, OutboxService::getLagMs)
+                    .description("Age of the oldest undispatched outbox event")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            Gauge.builder("sse.subscribers", orderStatusHub, OrderStatusHub::getSubscriberCount)
+                    .description("Open order status streams")
+                    .register(registry);
+            FunctionCounter.builder("sse.subscribers.evicted", orderStatusHub, OrderStatusHub::getEvictedSubscriberCount)
+                    .description("Streams dropped for falling behind")
+                    .register(registry);
+            Gauge.builder("sse.dispatchers.stalled", orderStatusHub, OrderStatusHub::getStalledDispatcherCount)
+                    .description("Dispatcher threads written off while blocked in a send")
+                    .register(registry);
+        };
+    }
+}
@@ -7,12 +7,14 @@ import com.fooddelivery.api.payload.request.LoginRequest;
 import com.fooddelivery.api.payload.request.SignupRequest;
 import com.fooddelivery.api.payload.response.JwtResponse;
 import com.fooddelivery.api.payload.response.MessageResponse;
-import com.fooddelivery.api.repository.RoleRepository;
 import com.fooddelivery.api.repository.UserRepository;
 import com.fooddelivery.api.security.jwt.JwtUtils;
 import com.fooddelivery.api.security.services.UserDetailsImpl;
+import com.fooddelivery.api.service.RoleRegistry;
 import jakarta.validation.Valid;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -37,7 +39,7 @@ public class AuthController {
     UserRepository userRepository;
 
     @Autowired
-    RoleRepository roleRepository;
+    RoleRegistry roleRegistry;
 
     @Autowired
     PasswordEncoder encoder;
@@ -69,18 +71,6 @@ public class AuthController {
 
     @PostMapping("/signup")
     public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
-        if (userRepository.existsByUsername(signUpRequest.getUsername())) {
-            return ResponseEntity
-                    .badRequest()
-                    .body(new MessageResponse("Error: Username is already taken!"));
-        }
-
-        if (userRepository.existsByEmail(signUpRequest.getEmail())) {
-            return ResponseEntity
-                    .badRequest()
-                    .body(new MessageResponse("Error: Email is already in use!"));
-        }
-
         // Create new user's account
         User user = new User(
                 signUpRequest.getUsername(),
@@ -92,33 +82,56 @@ public class AuthController {
         Set<Role> roles = new HashSet<>();
 
         if (strRoles == null) {
-            Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                    .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-            roles.add(userRole);
+            roles.add(roleRegistry.get(ERole.ROLE_USER));
         } else {
             strRoles.forEach(role -> {
                 switch (role) {
                     case "admin":
-                        Role adminRole = roleRepository.findByName(ERole.ROLE_ADMIN)
-                                .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                        roles.add(adminRole);
+                        roles.add(roleRegistry.get(ERole.ROLE_ADMIN));
                         break;
                     case "restaurant":
-                        Role modRole = roleRepository.findByName(ERole.ROLE_RESTAURANT)
-                                .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                        roles.add(modRole);
+                        roles.add(roleRegistry.get(ERole.ROLE_RESTAURANT));
                         break;
                     default:
-                        Role userRole = roleRepository.findByName(ERole.ROLE_USER)
-                                .orElseThrow(() -> new RuntimeException("Error: Role is not found."));
-                        roles.add(userRole);
+                        roles.add(roleRegistry.get(ERole.ROLE_USER));
                 }
             });
         }
 
         user.setRoles(roles);
-        userRepository.save(user);
+
+        // The unique constraints on users decide duplicates, so signup is a single insert
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(new MessageResponse(duplicateUserMessage(e, signUpRequest)));
+        }
 
         return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
     }
+
+    // Only the two unique keys are a client error; any other integrity failure is rethrown as a server error
+    private String duplicateUserMessage(DataIntegrityViolationException e, SignupRequest signUpRequest) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                ? violation.getConstraintName().toLowerCase()
+                : "";
+
+        if (constraint.contains(User.USERNAME_CONSTRAINT)) {
+            return "Error: Username is already taken!";
+        }
+        if (constraint.contains(User.EMAIL_CONSTRAINT)) {
+            return "Error: Email is already in use!";
+        }
+
+        // Databases created before the constraints were named carry generated names, so check the columns instead
+        if (userRepository.existsByUsername(signUpRequest.getUsername())) {
+            return "Error: Username is already taken!";
+        }
+        if (userRepository.existsByEmail(signUpRequest.getEmail())) {
+            return "Error: Email is already in use!";
+        }
+        throw e;
+    }
 }
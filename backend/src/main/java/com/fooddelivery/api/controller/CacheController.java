@@ -0,0 +1,31 @@
+package com.fooddelivery.api.controller;
+
+import com.fooddelivery.api.payload.response.MessageResponse;
+import com.fooddelivery.api.service.CacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/cache")
+public class CacheController {
+    @Autowired
+    private CacheService cacheService;
+
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Map<String, Object>>> getCacheStatistics() {
+        return ResponseEntity.ok(cacheService.getCacheStatistics());
+    }
+
+    @DeleteMapping("/{cacheName}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> clearCache(@PathVariable String cacheName) {
+        cacheService.clearCache(cacheName);
+        return ResponseEntity.ok(new MessageResponse("Cache cleared successfully"));
+    }
+}
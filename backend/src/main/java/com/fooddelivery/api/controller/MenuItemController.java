@@ -1,14 +1,22 @@
 package com.fooddelivery.api.controller;
 
 import com.fooddelivery.api.model.MenuItem;
+import com.fooddelivery.api.payload.request.PageCursor;
 import com.fooddelivery.api.payload.response.MessageResponse;
 import com.fooddelivery.api.service.MenuItemService;
+import com.fooddelivery.api.service.MenuSnapshotService;
+import com.fooddelivery.api.service.MenuSnapshotService.MenuSnapshot;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Locale;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -17,10 +25,65 @@ public class MenuItemController {
     @Autowired
     private MenuItemService menuItemService;
 
+    @Autowired
+    private MenuSnapshotService menuSnapshotService;
+
+    // Served from the pre-encoded snapshot; a matching If-None-Match gets a 304 without touching the database
     @GetMapping("/restaurant/{restaurantId}")
-    public ResponseEntity<List<MenuItem>> getMenuItemsByRestaurant(@PathVariable Long restaurantId) {
-        List<MenuItem> menuItems = menuItemService.getMenuItemsByRestaurant(restaurantId);
-        return ResponseEntity.ok(menuItems);
+    public ResponseEntity<byte[]> getMenuItemsByRestaurant(
+            @PathVariable Long restaurantId,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        MenuSnapshot snapshot = menuSnapshotService.getSnapshot(restaurantId);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String etag = gzip ? snapshot.getGzipEtag() : snapshot.getEtag();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzip());
+        }
+        return response.body(snapshot.getJson());
+    }
+
+    // RFC 9110 Accept-Encoding: gzip, or failing that "*", with a q-value above zero; "gzip;q=0" refuses it
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+
+        Float gzip = null;
+        Float any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim().toLowerCase(Locale.ROOT);
+            float quality = 1.0f;
+            for (int i = 1; i < parameters.length; i++) {
+                String parameter = parameters[i].trim().toLowerCase(Locale.ROOT);
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Float.parseFloat(parameter.substring(2));
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzip = quality;
+            } else if (name.equals("*")) {
+                any = quality;
+            }
+        }
+
+        float quality = gzip != null ? gzip : any != null ? any : 0;
+        return quality > 0;
     }
 
     @GetMapping("/restaurant/{restaurantId}/category/{category}")
@@ -30,6 +93,13 @@ public class MenuItemController {
         return ResponseEntity.ok(menuItems);
     }
 
+    @GetMapping("/search")
+    public ResponseEntity<List<MenuItem>> searchMenuItems(
+            @RequestParam String keyword, @RequestParam(required = false) Integer limit) {
+        List<MenuItem> menuItems = menuItemService.searchMenuItems(keyword, PageCursor.clampPageSize(limit));
+        return ResponseEntity.ok(menuItems);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<MenuItem> getMenuItemById(@PathVariable Long id) {
         MenuItem menuItem = menuItemService.getMenuItemById(id);
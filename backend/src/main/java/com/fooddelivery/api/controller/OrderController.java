@@ -1,14 +1,22 @@
 package com.fooddelivery.api.controller;
 
+import com.fooddelivery.api.event.OrderStatusChangedEvent;
 import com.fooddelivery.api.model.Order;
 import com.fooddelivery.api.model.OrderStatus;
 import com.fooddelivery.api.payload.request.OrderRequest;
+import com.fooddelivery.api.payload.request.PageCursor;
+import com.fooddelivery.api.payload.response.ActiveOrdersResponse;
+import com.fooddelivery.api.payload.response.KeysetPage;
 import com.fooddelivery.api.payload.response.MessageResponse;
+import com.fooddelivery.api.payload.response.OrderResponse;
 import com.fooddelivery.api.service.OrderService;
+import com.fooddelivery.api.service.OrderStatusHub;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -19,46 +27,72 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
 
+    @Autowired
+    private OrderStatusHub orderStatusHub;
+
     @GetMapping("/user")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<List<Order>> getUserOrders() {
-        List<Order> orders = orderService.getCurrentUserOrders();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderResponse>> getUserOrders(
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        KeysetPage<Order> page = orderService.getCurrentUserOrdersPage(cursor, PageCursor.clampPageSize(size));
+        return page.map(OrderResponse::build).toResponseEntity();
     }
 
     @GetMapping("/restaurant/{restaurantId}")
     @PreAuthorize("hasRole('RESTAURANT') or hasRole('ADMIN')")
-    public ResponseEntity<List<Order>> getRestaurantOrders(@PathVariable Long restaurantId) {
-        List<Order> orders = orderService.getRestaurantOrders(restaurantId);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderResponse>> getRestaurantOrders(
+            @PathVariable Long restaurantId,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        KeysetPage<Order> page = orderService.getRestaurantOrdersPage(restaurantId, cursor, PageCursor.clampPageSize(size));
+        return page.map(OrderResponse::build).toResponseEntity();
+    }
+
+    // Kitchen screens: call once without a cursor for the open orders, then poll with the returned cursor for deltas
+    @GetMapping("/restaurant/{restaurantId}/active")
+    @PreAuthorize("hasRole('RESTAURANT') or hasRole('ADMIN')")
+    public ResponseEntity<ActiveOrdersResponse> getActiveRestaurantOrders(
+            @PathVariable Long restaurantId, @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(orderService.getActiveRestaurantOrders(restaurantId, cursor));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasRole('USER') or hasRole('RESTAURANT') or hasRole('ADMIN')")
-    public ResponseEntity<Order> getOrderById(@PathVariable Long id) {
+    public ResponseEntity<OrderResponse> getOrderById(@PathVariable Long id) {
         Order order = orderService.getOrderById(id);
-        return ResponseEntity.ok(order);
+        return ResponseEntity.ok(OrderResponse.build(order));
     }
 
     @GetMapping("/tracking/{orderNumber}")
-    public ResponseEntity<Order> getOrderByOrderNumber(@PathVariable String orderNumber) {
+    public ResponseEntity<OrderResponse> getOrderByOrderNumber(@PathVariable String orderNumber) {
         Order order = orderService.getOrderByOrderNumber(orderNumber);
-        return ResponseEntity.ok(order);
+        return ResponseEntity.ok(OrderResponse.build(order));
+    }
+
+    @GetMapping(value = "/tracking/{orderNumber}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderStatus(@PathVariable String orderNumber) {
+        Order order = orderService.getOrderByOrderNumber(orderNumber);
+        return orderStatusHub.subscribeToOrder(orderNumber, OrderStatusChangedEvent.of(order));
+    }
+
+    @GetMapping(value = "/restaurant/{restaurantId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('RESTAURANT') or hasRole('ADMIN')")
+    public SseEmitter streamRestaurantOrders(@PathVariable Long restaurantId) {
+        return orderStatusHub.subscribeToRestaurant(restaurantId);
     }
 
     @PostMapping
     @PreAuthorize("hasRole('USER')")
-    public ResponseEntity<Order> createOrder(@RequestBody OrderRequest orderRequest) {
+    public ResponseEntity<OrderResponse> createOrder(@RequestBody OrderRequest orderRequest) {
         Order createdOrder = orderService.createOrder(orderRequest);
-        return ResponseEntity.ok(createdOrder);
+        return ResponseEntity.ok(OrderResponse.build(createdOrder));
     }
 
     @PutMapping("/{id}/status")
     @PreAuthorize("hasRole('RESTAURANT') or hasRole('ADMIN')")
-    public ResponseEntity<Order> updateOrderStatus(
+    public ResponseEntity<OrderResponse> updateOrderStatus(
             @PathVariable Long id, @RequestParam OrderStatus status) {
         Order updatedOrder = orderService.updateOrderStatus(id, status);
-        return ResponseEntity.ok(updatedOrder);
+        return ResponseEntity.ok(OrderResponse.build(updatedOrder));
     }
 
     @DeleteMapping("/{id}")
@@ -1,7 +1,12 @@
 package com.fooddelivery.api.controller;
 
 import com.fooddelivery.api.model.Restaurant;
+import com.fooddelivery.api.payload.request.PageCursor;
+import com.fooddelivery.api.payload.response.DeliveryEstimateResponse;
+import com.fooddelivery.api.payload.response.KeysetPage;
 import com.fooddelivery.api.payload.response.MessageResponse;
+import com.fooddelivery.api.payload.response.NearbyRestaurantResponse;
+import com.fooddelivery.api.payload.response.RestaurantResponse;
 import com.fooddelivery.api.service.RestaurantService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -18,40 +23,72 @@ public class RestaurantController {
     private RestaurantService restaurantService;
 
     @GetMapping
-    public ResponseEntity<List<Restaurant>> getAllRestaurants() {
-        List<Restaurant> restaurants = restaurantService.getAllRestaurants();
-        return ResponseEntity.ok(restaurants);
+    public ResponseEntity<List<RestaurantResponse>> getAllRestaurants(
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        KeysetPage<RestaurantResponse> page = restaurantService.getRestaurantsPage(cursor, PageCursor.clampPageSize(size));
+        return page.toResponseEntity();
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Restaurant> getRestaurantById(@PathVariable Long id) {
-        Restaurant restaurant = restaurantService.getRestaurantById(id);
+    public ResponseEntity<RestaurantResponse> getRestaurantById(@PathVariable Long id) {
+        RestaurantResponse restaurant = restaurantService.getRestaurantById(id);
         return ResponseEntity.ok(restaurant);
     }
 
     @GetMapping("/cuisine/{cuisine}")
-    public ResponseEntity<List<Restaurant>> getRestaurantsByCuisine(@PathVariable String cuisine) {
-        List<Restaurant> restaurants = restaurantService.getRestaurantsByCuisine(cuisine);
+    public ResponseEntity<List<RestaurantResponse>> getRestaurantsByCuisine(@PathVariable String cuisine) {
+        List<RestaurantResponse> restaurants = restaurantService.getRestaurantsByCuisine(cuisine);
         return ResponseEntity.ok(restaurants);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Restaurant>> searchRestaurants(@RequestParam String keyword) {
-        List<Restaurant> restaurants = restaurantService.searchRestaurants(keyword);
+    public ResponseEntity<List<RestaurantResponse>> searchRestaurants(
+            @RequestParam String keyword, @RequestParam(required = false) Integer limit) {
+        List<RestaurantResponse> restaurants = restaurantService.searchRestaurants(keyword, PageCursor.clampPageSize(limit));
         return ResponseEntity.ok(restaurants);
     }
 
+    // Restaurants that deliver to a saved address (addressId) or a point (lat, lng), fastest to the door first
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyRestaurantResponse>> getRestaurantsDeliveringTo(
+            @RequestParam(required = false) Long addressId,
+            @RequestParam(required = false) Double lat, @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) Integer limit) {
+        List<NearbyRestaurantResponse> restaurants = restaurantService.getRestaurantsDeliveringTo(
+                addressId, lat, lng, PageCursor.clampPageSize(limit));
+        return ResponseEntity.ok(restaurants);
+    }
+
+    @GetMapping("/nearest")
+    public ResponseEntity<List<NearbyRestaurantResponse>> getNearestRestaurants(
+            @RequestParam(required = false) Long addressId,
+            @RequestParam(required = false) Double lat, @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) Integer k) {
+        List<NearbyRestaurantResponse> restaurants = restaurantService.getNearestRestaurants(
+                addressId, lat, lng, PageCursor.clampPageSize(k));
+        return ResponseEntity.ok(restaurants);
+    }
+
+    // Delivery time before checkout, from the kitchen's live queue and the distance to addressId or (lat, lng)
+    @GetMapping("/{id}/eta")
+    public ResponseEntity<DeliveryEstimateResponse> getDeliveryEstimate(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long addressId,
+            @RequestParam(required = false) Double lat, @RequestParam(required = false) Double lng) {
+        return ResponseEntity.ok(restaurantService.getDeliveryEstimate(id, addressId, lat, lng));
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('RESTAURANT') or hasRole('ADMIN')")
-    public ResponseEntity<Restaurant> createRestaurant(@RequestBody Restaurant restaurant) {
-        Restaurant createdRestaurant = restaurantService.createRestaurant(restaurant);
+    public ResponseEntity<RestaurantResponse> createRestaurant(@RequestBody Restaurant restaurant) {
+        RestaurantResponse createdRestaurant = restaurantService.createRestaurant(restaurant);
         return ResponseEntity.ok(createdRestaurant);
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('RESTAURANT') or hasRole('ADMIN')")
-    public ResponseEntity<Restaurant> updateRestaurant(@PathVariable Long id, @RequestBody Restaurant restaurant) {
-        Restaurant updatedRestaurant = restaurantService.updateRestaurant(id, restaurant);
+    public ResponseEntity<RestaurantResponse> updateRestaurant(@PathVariable Long id, @RequestBody Restaurant restaurant) {
+        RestaurantResponse updatedRestaurant = restaurantService.updateRestaurant(id, restaurant);
         return ResponseEntity.ok(updatedRestaurant);
     }
 
@@ -3,6 +3,7 @@ package com.fooddelivery.api.controller;
 import com.fooddelivery.api.model.Address;
 import com.fooddelivery.api.model.User;
 import com.fooddelivery.api.payload.response.MessageResponse;
+import com.fooddelivery.api.payload.response.UserResponse;
 import com.fooddelivery.api.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -20,16 +21,16 @@ public class UserController {
 
     @GetMapping("/profile")
     @PreAuthorize("hasRole('USER') or hasRole('RESTAURANT') or hasRole('ADMIN')")
-    public ResponseEntity<User> getCurrentUser() {
+    public ResponseEntity<UserResponse> getCurrentUser() {
         User user = userService.getCurrentUser();
-        return ResponseEntity.ok(user);
+        return ResponseEntity.ok(UserResponse.build(user));
     }
 
     @PutMapping("/profile")
     @PreAuthorize("hasRole('USER') or hasRole('RESTAURANT') or hasRole('ADMIN')")
-    public ResponseEntity<User> updateCurrentUser(@RequestBody User user) {
+    public ResponseEntity<UserResponse> updateCurrentUser(@RequestBody User user) {
         User updatedUser = userService.updateCurrentUser(user);
-        return ResponseEntity.ok(updatedUser);
+        return ResponseEntity.ok(UserResponse.build(updatedUser));
     }
 
     @GetMapping("/addresses")
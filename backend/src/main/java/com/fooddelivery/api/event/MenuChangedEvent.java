@@ -0,0 +1,18 @@
+package com.fooddelivery.api.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuChangedEvent {
+    private Long restaurantId;
+    // The menu item written or deleted; null when only the restaurant's own fields changed
+    private Long menuItemId;
+
+    public MenuChangedEvent(Long restaurantId) {
+        this.restaurantId = restaurantId;
+    }
+}
@@ -0,0 +1,7 @@
+package com.fooddelivery.api.event;
+
+// In-process consumer of order lifecycle events drained from the outbox.
+// Delivery is at-least-once and in order per order, so implementations should be idempotent.
+public interface OrderEventHandler {
+    void handle(String eventType, OrderStatusChangedEvent event) throws Exception;
+}
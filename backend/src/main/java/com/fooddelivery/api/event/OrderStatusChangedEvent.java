@@ -0,0 +1,31 @@
+package com.fooddelivery.api.event;
+
+import com.fooddelivery.api.model.Order;
+import com.fooddelivery.api.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusChangedEvent {
+    private Long orderId;
+    private String orderNumber;
+    private Long restaurantId;
+    private OrderStatus status;
+    private Integer estimatedDeliveryTime;
+    private LocalDateTime changedAt;
+
+    public static OrderStatusChangedEvent of(Order order) {
+        return new OrderStatusChangedEvent(
+                order.getId(),
+                order.getOrderNumber(),
+                order.getRestaurant().getId(),
+                order.getStatus(),
+                order.getEstimatedDeliveryTime(),
+                LocalDateTime.now());
+    }
+}
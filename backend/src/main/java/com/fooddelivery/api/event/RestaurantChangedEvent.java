@@ -0,0 +1,13 @@
+package com.fooddelivery.api.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A restaurant was created or its own fields changed, including the address it is located at
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantChangedEvent {
+    private Long restaurantId;
+}
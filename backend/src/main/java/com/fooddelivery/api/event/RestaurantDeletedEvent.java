@@ -0,0 +1,16 @@
+package com.fooddelivery.api.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestaurantDeletedEvent {
+    private Long restaurantId;
+    // Captured before the delete, since the cascaded rows can no longer be queried once it commits
+    private List<Long> menuItemIds;
+}
@@ -0,0 +1,109 @@
+package com.fooddelivery.api.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Cold copy of a DELIVERED or CANCELLED order, moved out of the hot orders table by OrderArchiveService.
+// Foreign keys are plain columns so rows can be copied with one INSERT ... SELECT; the associations are read-only.
+@Entity
+@Table(name = "orders_archive",
+       indexes = {
+           @Index(name = "idx_orders_archive_user_created", columnList = "user_id, createdAt, id"),
+           @Index(name = "idx_orders_archive_restaurant_created", columnList = "restaurant_id, createdAt, id")
+       })
+@Data
+@NoArgsConstructor
+public class ArchivedOrder {
+    @Id
+    private Long id;
+
+    @Column(unique = true, nullable = false, length = 20)
+    private String orderNumber;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "restaurant_id", nullable = false)
+    private Long restaurantId;
+
+    @Column(name = "delivery_address_id", nullable = false)
+    private Long deliveryAddressId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "restaurant_id", insertable = false, updatable = false)
+    private Restaurant restaurant;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "delivery_address_id", insertable = false, updatable = false)
+    private Address deliveryAddress;
+
+    @OneToMany(mappedBy = "order")
+    @BatchSize(size = 100)
+    private List<ArchivedOrderItem> items = new ArrayList<>();
+
+    private BigDecimal subtotal;
+
+    private BigDecimal deliveryFee;
+
+    private BigDecimal serviceFee;
+
+    private BigDecimal total;
+
+    @Enumerated(EnumType.STRING)
+    private PaymentMethod paymentMethod;
+
+    private String paymentStatus;
+
+    private Integer estimatedDeliveryTime;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime deliveredAt;
+
+    private LocalDateTime archivedAt;
+
+    // Detached, read-only Order view so history responses do not care which table the row came from
+    public Order toOrder() {
+        Order order = new Order();
+        order.setId(id);
+        order.setOrderNumber(orderNumber);
+        order.setStatus(status);
+        User user = new User();
+        user.setId(userId);
+        order.setUser(user);
+        order.setRestaurant(restaurant);
+        order.setDeliveryAddress(deliveryAddress);
+        order.setSubtotal(subtotal);
+        order.setDeliveryFee(deliveryFee);
+        order.setServiceFee(serviceFee);
+        order.setTotal(total);
+        order.setPaymentMethod(paymentMethod);
+        order.setPaymentStatus(paymentStatus);
+        order.setEstimatedDeliveryTime(estimatedDeliveryTime);
+        order.setCreatedAt(createdAt);
+        order.setUpdatedAt(updatedAt);
+        order.setDeliveredAt(deliveredAt);
+
+        List<OrderItem> orderItems = new ArrayList<>(items.size());
+        for (ArchivedOrderItem item : items) {
+            MenuItem menuItem = new MenuItem();
+            menuItem.setId(item.getMenuItemId());
+            orderItems.add(new OrderItem(item.getId(), order, menuItem, item.getName(), item.getPrice(),
+                    item.getQuantity(), item.getSubtotal()));
+        }
+        order.setItems(orderItems);
+        return order;
+    }
+}
@@ -0,0 +1,39 @@
+package com.fooddelivery.api.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "order_items_archive",
+       indexes = @Index(name = "idx_order_items_archive_order", columnList = "order_id"))
+@Data
+@NoArgsConstructor
+public class ArchivedOrderItem {
+    @Id
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", insertable = false, updatable = false)
+    private ArchivedOrder order;
+
+    @Column(name = "menu_item_id", nullable = false)
+    private Long menuItemId;
+
+    private String name;
+
+    private BigDecimal price;
+
+    private Integer quantity;
+
+    private BigDecimal subtotal;
+}
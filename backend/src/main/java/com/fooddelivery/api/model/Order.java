@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -14,34 +15,46 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders",
+       indexes = {
+           @Index(name = "idx_orders_user_created", columnList = "user_id, createdAt, id"),
+           @Index(name = "idx_orders_restaurant_created", columnList = "restaurant_id, createdAt, id"),
+           @Index(name = "idx_orders_restaurant_status_updated", columnList = "restaurant_id, status, updatedAt"),
+           @Index(name = "idx_orders_status_updated", columnList = "status, updatedAt")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
 public class Order {
+    public static final String ID_SEQUENCE = "orders_seq";
+
+    // Pooled ids let Hibernate batch the order and its items instead of inserting row by row to read back the key
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_id")
+    @SequenceGenerator(name = "order_id", sequenceName = ID_SEQUENCE, allocationSize = 50)
     private Long id;
 
+    @Column(unique = true, nullable = false, length = 20)
     private String orderNumber;
 
     @Enumerated(EnumType.STRING)
     private OrderStatus status;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "restaurant_id", nullable = false)
     private Restaurant restaurant;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "delivery_address_id", nullable = false)
     private Address deliveryAddress;
 
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
+    @BatchSize(size = 100)
     private List<OrderItem> items = new ArrayList<>();
 
     private BigDecimal subtotal;
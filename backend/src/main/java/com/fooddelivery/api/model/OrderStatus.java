@@ -1,10 +1,36 @@
 package com.fooddelivery.api.model;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderStatus {
     RECEIVED,
     PREPARING,
     READY,
     OUT_FOR_DELIVERY,
     DELIVERED,
-    CANCELLED
+    CANCELLED;
+
+    public Set<OrderStatus> nextStatuses() {
+        switch (this) {
+            case RECEIVED:
+                return EnumSet.of(PREPARING, CANCELLED);
+            case PREPARING:
+                return EnumSet.of(READY, CANCELLED);
+            case READY:
+                return EnumSet.of(OUT_FOR_DELIVERY, CANCELLED);
+            case OUT_FOR_DELIVERY:
+                return EnumSet.of(DELIVERED);
+            default:
+                return EnumSet.noneOf(OrderStatus.class);
+        }
+    }
+
+    public boolean canTransitionTo(OrderStatus next) {
+        return nextStatuses().contains(next);
+    }
+
+    public boolean isTerminal() {
+        return this == DELIVERED || this == CANCELLED;
+    }
 }
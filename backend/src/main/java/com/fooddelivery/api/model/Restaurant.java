@@ -6,6 +6,9 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -16,11 +19,16 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "restaurants")
+@Table(name = "restaurants",
+       indexes = {
+           @Index(name = "idx_restaurants_created", columnList = "createdAt, id"),
+           @Index(name = "idx_restaurants_updated", columnList = "updatedAt")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog-restaurant")
 public class Restaurant {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -38,6 +46,8 @@ public class Restaurant {
     @ElementCollection
     @CollectionTable(name = "restaurant_cuisines", joinColumns = @JoinColumn(name = "restaurant_id"))
     @Column(name = "cuisine")
+    @BatchSize(size = 100)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "catalog-restaurant-cuisine")
     private Set<String> cuisine = new HashSet<>();
 
     private Double rating;
@@ -48,14 +58,17 @@ public class Restaurant {
 
     private BigDecimal minOrder;
 
-    @OneToOne
+    // How far from its address the restaurant delivers; falls back to app.geo.default-delivery-radius-km
+    private Double deliveryRadiusKm;
+
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "address_id")
     private Address address;
 
     @OneToMany(mappedBy = "restaurant", cascade = CascadeType.ALL)
     private Set<MenuItem> menuItems = new HashSet<>();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "owner_id")
     private User owner;
 
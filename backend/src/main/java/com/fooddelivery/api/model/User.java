@@ -18,14 +18,17 @@ import java.util.Set;
 @Entity
 @Table(name = "users",
        uniqueConstraints = {
-           @UniqueConstraint(columnNames = "username"),
-           @UniqueConstraint(columnNames = "email")
+           @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"),
+           @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email")
        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
 public class User {
+    public static final String USERNAME_CONSTRAINT = "uk_users_username";
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -0,0 +1,19 @@
+package com.fooddelivery.api.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Kitchen feed page: the full set of active orders (delta = false) or the orders changed since the cursor, terminal
+// ones included so screens can drop them. Pass cursor back on the next poll; hasMore means poll again right away.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActiveOrdersResponse {
+    private List<OrderResponse> orders;
+    private String cursor;
+    private boolean delta;
+    private boolean hasMore;
+}
@@ -0,0 +1,37 @@
+package com.fooddelivery.api.payload.response;
+
+import com.fooddelivery.api.model.Address;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class AddressResponse {
+    private Long id;
+    private String street;
+    private String city;
+    private String state;
+    private String zipCode;
+    private Double latitude;
+    private Double longitude;
+    private String instructions;
+    private Boolean isDefault;
+
+    public static AddressResponse build(Address address) {
+        if (address == null) {
+            return null;
+        }
+
+        AddressResponse response = new AddressResponse();
+        response.setId(address.getId());
+        response.setStreet(address.getStreet());
+        response.setCity(address.getCity());
+        response.setState(address.getState());
+        response.setZipCode(address.getZipCode());
+        response.setLatitude(address.getLatitude());
+        response.setLongitude(address.getLongitude());
+        response.setInstructions(address.getInstructions());
+        response.setIsDefault(address.getIsDefault());
+        return response;
+    }
+}
@@ -0,0 +1,18 @@
+package com.fooddelivery.api.payload.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeliveryEstimateResponse {
+    private Long restaurantId;
+    private Integer estimatedDeliveryMinutes;
+    private Integer kitchenQueueLength;
+    private Integer averagePrepMinutes;
+    private Integer kitchenMinutes;
+    private Integer travelMinutes;
+    private Double distanceKm;
+}
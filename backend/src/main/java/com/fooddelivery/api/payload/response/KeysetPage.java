@@ -0,0 +1,50 @@
+package com.fooddelivery.api.payload.response;
+
+import com.fooddelivery.api.payload.request.PageCursor;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@AllArgsConstructor
+public class KeysetPage<T> {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private List<T> items;
+    private String nextCursor;
+
+    public <R> KeysetPage<R> map(Function<T, R> mapper) {
+        List<R> mapped = new ArrayList<>(items.size());
+        for (T item : items) {
+            mapped.add(mapper.apply(item));
+        }
+        return new KeysetPage<>(mapped, nextCursor);
+    }
+
+    // The body stays a plain list; the cursor for the next page travels in a header, and a client that ignores it
+    // only ever sees the first page
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(items);
+    }
+
+    // Rows are fetched with one extra element so the presence of a next page is known without a count query
+    public static <T> KeysetPage<T> of(List<T> rows, int pageSize,
+                                       Function<T, LocalDateTime> createdAt, Function<T, Long> id) {
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, null);
+        }
+
+        List<T> items = new ArrayList<>(rows.subList(0, pageSize));
+        T last = items.get(pageSize - 1);
+        return new KeysetPage<>(items, new PageCursor(createdAt.apply(last), id.apply(last)).encode());
+    }
+}
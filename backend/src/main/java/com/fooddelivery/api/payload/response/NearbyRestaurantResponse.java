@@ -0,0 +1,21 @@
+package com.fooddelivery.api.payload.response;
+
+import com.fooddelivery.api.model.Restaurant;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class NearbyRestaurantResponse {
+    private RestaurantResponse restaurant;
+    private Double distanceKm;
+    private Integer estimatedDeliveryMinutes;
+
+    public static NearbyRestaurantResponse build(Restaurant restaurant, double distanceKm, int estimatedDeliveryMinutes) {
+        NearbyRestaurantResponse response = new NearbyRestaurantResponse();
+        response.setRestaurant(RestaurantResponse.build(restaurant));
+        response.setDistanceKm(Math.round(distanceKm * 100) / 100.0);
+        response.setEstimatedDeliveryMinutes(estimatedDeliveryMinutes);
+        return response;
+    }
+}
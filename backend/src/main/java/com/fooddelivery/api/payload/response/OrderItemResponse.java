@@ -0,0 +1,28 @@
+package com.fooddelivery.api.payload.response;
+
+import com.fooddelivery.api.model.OrderItem;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class OrderItemResponse {
+    private Long id;
+    private Long menuItemId;
+    private String name;
+    private BigDecimal price;
+    private Integer quantity;
+    private BigDecimal subtotal;
+
+    public static OrderItemResponse build(OrderItem item) {
+        return new OrderItemResponse(
+                item.getId(),
+                item.getMenuItem().getId(),
+                item.getName(),
+                item.getPrice(),
+                item.getQuantity(),
+                item.getSubtotal());
+    }
+}
@@ -0,0 +1,58 @@
+package com.fooddelivery.api.payload.response;
+
+import com.fooddelivery.api.model.Order;
+import com.fooddelivery.api.model.OrderStatus;
+import com.fooddelivery.api.model.PaymentMethod;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Data
+@NoArgsConstructor
+public class OrderResponse {
+    private Long id;
+    private String orderNumber;
+    private OrderStatus status;
+    private Long userId;
+    private RestaurantSummaryResponse restaurant;
+    private AddressResponse deliveryAddress;
+    private List<OrderItemResponse> items;
+    private BigDecimal subtotal;
+    private BigDecimal deliveryFee;
+    private BigDecimal serviceFee;
+    private BigDecimal total;
+    private PaymentMethod paymentMethod;
+    private String paymentStatus;
+    private Integer estimatedDeliveryTime;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime deliveredAt;
+
+    public static OrderResponse build(Order order) {
+        OrderResponse response = new OrderResponse();
+        response.setId(order.getId());
+        response.setOrderNumber(order.getOrderNumber());
+        response.setStatus(order.getStatus());
+        response.setUserId(order.getUser().getId());
+        response.setRestaurant(RestaurantSummaryResponse.build(order.getRestaurant()));
+        response.setDeliveryAddress(AddressResponse.build(order.getDeliveryAddress()));
+        response.setItems(order.getItems().stream()
+                .map(OrderItemResponse::build)
+                .collect(Collectors.toList()));
+        response.setSubtotal(order.getSubtotal());
+        response.setDeliveryFee(order.getDeliveryFee());
+        response.setServiceFee(order.getServiceFee());
+        response.setTotal(order.getTotal());
+        response.setPaymentMethod(order.getPaymentMethod());
+        response.setPaymentStatus(order.getPaymentStatus());
+        response.setEstimatedDeliveryTime(order.getEstimatedDeliveryTime());
+        response.setCreatedAt(order.getCreatedAt());
+        response.setUpdatedAt(order.getUpdatedAt());
+        response.setDeliveredAt(order.getDeliveredAt());
+        return response;
+    }
+}
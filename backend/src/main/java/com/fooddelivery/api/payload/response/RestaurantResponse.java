@@ -0,0 +1,48 @@
+package com.fooddelivery.api.payload.response;
+
+import com.fooddelivery.api.model.Restaurant;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+public class RestaurantResponse {
+    private Long id;
+    private String name;
+    private String description;
+    private String image;
+    private Set<String> cuisine;
+    private Double rating;
+    private String deliveryTime;
+    private BigDecimal deliveryFee;
+    private BigDecimal minOrder;
+    private Double deliveryRadiusKm;
+    private AddressResponse address;
+    private Long ownerId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static RestaurantResponse build(Restaurant restaurant) {
+        RestaurantResponse response = new RestaurantResponse();
+        response.setId(restaurant.getId());
+        response.setName(restaurant.getName());
+        response.setDescription(restaurant.getDescription());
+        response.setImage(restaurant.getImage());
+        response.setCuisine(new HashSet<>(restaurant.getCuisine()));
+        response.setRating(restaurant.getRating());
+        response.setDeliveryTime(restaurant.getDeliveryTime());
+        response.setDeliveryFee(restaurant.getDeliveryFee());
+        response.setMinOrder(restaurant.getMinOrder());
+        response.setDeliveryRadiusKm(restaurant.getDeliveryRadiusKm());
+        response.setAddress(AddressResponse.build(restaurant.getAddress()));
+        response.setOwnerId(restaurant.getOwner() != null ? restaurant.getOwner().getId() : null);
+        response.setCreatedAt(restaurant.getCreatedAt());
+        response.setUpdatedAt(restaurant.getUpdatedAt());
+        return response;
+    }
+}
@@ -0,0 +1,17 @@
+package com.fooddelivery.api.payload.response;
+
+import com.fooddelivery.api.model.Restaurant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RestaurantSummaryResponse {
+    private Long id;
+    private String name;
+    private String image;
+
+    public static RestaurantSummaryResponse build(Restaurant restaurant) {
+        return new RestaurantSummaryResponse(restaurant.getId(), restaurant.getName(), restaurant.getImage());
+    }
+}
@@ -0,0 +1,35 @@
+package com.fooddelivery.api.payload.response;
+
+import com.fooddelivery.api.model.User;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Data
+@NoArgsConstructor
+public class UserResponse {
+    private Long id;
+    private String username;
+    private String email;
+    private String name;
+    private String phone;
+    private List<String> roles;
+    private LocalDateTime createdAt;
+
+    public static UserResponse build(User user) {
+        UserResponse response = new UserResponse();
+        response.setId(user.getId());
+        response.setUsername(user.getUsername());
+        response.setEmail(user.getEmail());
+        response.setName(user.getName());
+        response.setPhone(user.getPhone());
+        response.setRoles(user.getRoles().stream()
+                .map(role -> role.getName().name())
+                .collect(Collectors.toList()));
+        response.setCreatedAt(user.getCreatedAt());
+        return response;
+    }
+}
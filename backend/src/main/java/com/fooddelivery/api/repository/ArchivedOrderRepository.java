@@ -0,0 +1,71 @@
+package com.fooddelivery.api.repository;
+
+import com.fooddelivery.api.model.ArchivedOrder;
+import com.fooddelivery.api.model.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+    @EntityGraph(attributePaths = {"restaurant", "deliveryAddress"})
+    Optional<ArchivedOrder> findByOrderNumber(String orderNumber);
+    
+    @Query("SELECT o.status FROM ArchivedOrder o WHERE o.id = :id")
+    Optional<OrderStatus> findStatusById(@Param("id") Long id);
+    
+    @Override
+    @EntityGraph(attributePaths = {"restaurant", "deliveryAddress"})
+    Optional<ArchivedOrder> findById(Long id);
+    
+    @EntityGraph(attributePaths = {"restaurant", "deliveryAddress"})
+    List<ArchivedOrder> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"restaurant", "deliveryAddress"})
+    @Query("SELECT o FROM ArchivedOrder o WHERE o.userId = :userId " +
+           "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<ArchivedOrder> findByUserIdBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id, Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"restaurant", "deliveryAddress"})
+    List<ArchivedOrder> findByRestaurantIdOrderByCreatedAtDescIdDesc(Long restaurantId, Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"restaurant", "deliveryAddress"})
+    @Query("SELECT o FROM ArchivedOrder o WHERE o.restaurantId = :restaurantId " +
+           "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<ArchivedOrder> findByRestaurantIdBefore(@Param("restaurantId") Long restaurantId,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id, Pageable pageable);
+    
+    // Set-based copy of one archival batch; rows keep their ids so links and order numbers stay valid
+    @Modifying
+    @Query("INSERT INTO ArchivedOrder (id, orderNumber, status, userId, restaurantId, deliveryAddressId, subtotal, " +
+           "deliveryFee, serviceFee, total, paymentMethod, paymentStatus, estimatedDeliveryTime, createdAt, updatedAt, " +
+           "deliveredAt, archivedAt) " +
+           "SELECT o.id, o.orderNumber, o.status, o.user.id, o.restaurant.id, o.deliveryAddress.id, o.subtotal, " +
+           "o.deliveryFee, o.serviceFee, o.total, o.paymentMethod, o.paymentStatus, o.estimatedDeliveryTime, " +
+           "o.createdAt, o.updatedAt, o.deliveredAt, local_datetime " +
+           "FROM Order o WHERE o.id IN :ids")
+    int copyOrders(@Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query("INSERT INTO ArchivedOrderItem (id, orderId, menuItemId, name, price, quantity, subtotal) " +
+           "SELECT i.id, i.order.id, i.menuItem.id, i.name, i.price, i.quantity, i.subtotal " +
+           "FROM OrderItem i WHERE i.order.id IN :ids")
+    int copyOrderItems(@Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query("DELETE FROM ArchivedOrderItem i WHERE i.orderId = :orderId")
+    int deleteItemsByOrderId(@Param("orderId") Long orderId);
+}
@@ -0,0 +1,24 @@
+package com.fooddelivery.api.repository;
+
+import com.fooddelivery.api.model.JobLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+    // Renews a lease this owner holds or takes over an expired one; the row lock makes concurrent claims take turns
+    @Modifying
+    @Query("UPDATE JobLease l SET l.owner = :owner, l.expiresAt = :expiresAt " +
+           "WHERE l.name = :name AND (l.owner = :owner OR l.expiresAt < :now)")
+    int tryAcquire(@Param("name") String name, @Param("owner") String owner,
+                   @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE JobLease l SET l.expiresAt = :now WHERE l.owner = :owner")
+    int releaseAll(@Param("owner") String owner, @Param("now") LocalDateTime now);
+}
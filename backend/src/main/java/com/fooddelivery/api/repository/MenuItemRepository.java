@@ -1,13 +1,40 @@
 package com.fooddelivery.api.repository;
 
 import com.fooddelivery.api.model.MenuItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
+    String MENU_QUERY_REGION = "catalog-menu-item-queries";
+
+    // Results are invalidated by Hibernate whenever menu_items is written
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = MENU_QUERY_REGION)
+    })
     List<MenuItem> findByRestaurantId(Long restaurantId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = MENU_QUERY_REGION)
+    })
     List<MenuItem> findByRestaurantIdAndCategory(Long restaurantId, String category);
+    
+    @Query("SELECT m.id, m.restaurant.id, m.name, m.category, m.description FROM MenuItem m " +
+           "WHERE m.id > :afterId ORDER BY m.id ASC")
+    List<Object[]> findSearchRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT m.id, m.restaurant.id, m.name, m.category, m.description FROM MenuItem m " +
+           "WHERE m.updatedAt > :since")
+    List<Object[]> findSearchRowsUpdatedAfter(@Param("since") LocalDateTime since);
 }
@@ -2,9 +2,16 @@ package com.fooddelivery.api.repository;
 
 import com.fooddelivery.api.model.Order;
 import com.fooddelivery.api.model.OrderStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,5 +21,74 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByRestaurantId(Long restaurantId);
     List<Order> findByUserIdAndStatus(Long userId, OrderStatus status);
     List<Order> findByRestaurantIdAndStatus(Long restaurantId, OrderStatus status);
+    @EntityGraph(attributePaths = {"restaurant", "deliveryAddress"})
     Optional<Order> findByOrderNumber(String orderNumber);
+    
+    @Query("SELECT o.id, o.restaurant.id, o.status, o.updatedAt FROM Order o WHERE o.status IN :statuses")
+    List<Object[]> findKitchenRows(@Param("statuses") Collection<OrderStatus> statuses);
+    
+    // Archival candidates straight off idx_orders_status_updated; unordered so the limit stops the index scan early
+    @Query("SELECT o.id FROM Order o WHERE o.status IN :statuses AND o.updatedAt < :cutoff")
+    List<Long> findIdsToArchive(@Param("statuses") Collection<OrderStatus> statuses,
+                                @Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+    
+    @Modifying
+    @Query("DELETE FROM OrderItem i WHERE i.order.id IN :ids")
+    int deleteItemsByOrderIds(@Param("ids") Collection<Long> ids);
+    
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT o.status FROM Order o WHERE o.id = :id")
+    Optional<OrderStatus> findStatusById(@Param("id") Long id);
+    
+    // Compare-and-set on status: only applies when nobody else has moved the order since it was read
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :next, o.updatedAt = :now, " +
+           "o.deliveredAt = COALESCE(:deliveredAt, o.deliveredAt) " +
+           "WHERE o.id = :id AND o.status = :expected")
+    int updateStatusIfCurrent(@Param("id") Long id, @Param("expected") OrderStatus expected,
+                              @Param("next") OrderStatus next, @Param("now") LocalDateTime now,
+                              @Param("deliveredAt") LocalDateTime deliveredAt);
+    
+    @Override
+    @EntityGraph(attributePaths = {"restaurant", "deliveryAddress"})
+    Optional<Order> findById(Long id);
+    
+    @EntityGraph(attributePaths = {"restaurant", "deliveryAddress"})
+    List<Order> findByUserIdOrderByCreatedAtDescIdDesc(Long userId, Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"restaurant", "deliveryAddress"})
+    @Query("SELECT o FROM Order o WHERE o.user.id = :userId " +
+           "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findByUserIdBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Long id, Pageable pageable);
+    
+    // Kitchen feed: both read idx_orders_restaurant_status_updated, one equality range per status
+    @EntityGraph(attributePaths = {"restaurant", "deliveryAddress"})
+    @Query("SELECT o FROM Order o WHERE o.restaurant.id = :restaurantId AND o.status IN :statuses " +
+           "ORDER BY o.createdAt ASC, o.id ASC")
+    List<Order> findActiveByRestaurantId(@Param("restaurantId") Long restaurantId,
+                                         @Param("statuses") Collection<OrderStatus> statuses);
+    
+    @EntityGraph(attributePaths = {"restaurant", "deliveryAddress"})
+    @Query("SELECT o FROM Order o WHERE o.restaurant.id = :restaurantId AND o.status IN :statuses " +
+           "AND (o.updatedAt > :updatedAt OR (o.updatedAt = :updatedAt AND o.id > :id)) " +
+           "ORDER BY o.updatedAt ASC, o.id ASC")
+    List<Order> findChangedByRestaurantIdAfter(@Param("restaurantId") Long restaurantId,
+                                               @Param("statuses") Collection<OrderStatus> statuses,
+                                               @Param("updatedAt") LocalDateTime updatedAt,
+                                               @Param("id") Long id, Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"restaurant", "deliveryAddress"})
+    List<Order> findByRestaurantIdOrderByCreatedAtDescIdDesc(Long restaurantId, Pageable pageable);
+    
+    @EntityGraph(attributePaths = {"restaurant", "deliveryAddress"})
+    @Query("SELECT o FROM Order o WHERE o.restaurant.id = :restaurantId " +
+           "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+           "ORDER BY o.createdAt DESC, o.id DESC")
+    List<Order> findByRestaurantIdBefore(@Param("restaurantId") Long restaurantId, @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id, Pageable pageable);
 }
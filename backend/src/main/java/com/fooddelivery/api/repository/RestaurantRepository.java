@@ -1,18 +1,50 @@
 package com.fooddelivery.api.repository;
 
 import com.fooddelivery.api.model.Restaurant;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface RestaurantRepository extends JpaRepository<Restaurant, Long> {
+    @EntityGraph(attributePaths = "address")
     List<Restaurant> findByCuisineContaining(String cuisine);
     
-    @Query("SELECT r FROM Restaurant r WHERE r.name LIKE %?1% OR ?1 MEMBER OF r.cuisine")
-    List<Restaurant> searchByNameOrCuisine(String keyword);
-    
+    @EntityGraph(attributePaths = "address")
     List<Restaurant> findByOwnerId(Long ownerId);
+    
+    List<Restaurant> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+    
+    @EntityGraph(attributePaths = "address")
+    List<Restaurant> findByAddressId(Long addressId);
+    
+    @Query("SELECT r.id, a.latitude, a.longitude, r.deliveryRadiusKm, r.deliveryTime FROM Restaurant r JOIN r.address a " +
+           "WHERE r.id > :afterId AND a.latitude IS NOT NULL AND a.longitude IS NOT NULL ORDER BY r.id ASC")
+    List<Object[]> findGeoRowsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT r.id FROM Restaurant r WHERE r.updatedAt > :since")
+    List<Long> findIdsUpdatedAfter(@Param("since") LocalDateTime since);
+    
+    @Override
+    @EntityGraph(attributePaths = "address")
+    Optional<Restaurant> findById(Long id);
+    
+    @Override
+    @EntityGraph(attributePaths = "address")
+    List<Restaurant> findAllById(Iterable<Long> ids);
+    
+    @EntityGraph(attributePaths = "address")
+    List<Restaurant> findAllByOrderByCreatedAtAscIdAsc(Pageable pageable);
+    
+    @EntityGraph(attributePaths = "address")
+    @Query("SELECT r FROM Restaurant r WHERE r.createdAt > :createdAt OR (r.createdAt = :createdAt AND r.id > :id) " +
+           "ORDER BY r.createdAt ASC, r.id ASC")
+    List<Restaurant> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
 }
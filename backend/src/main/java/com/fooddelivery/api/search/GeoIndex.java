@@ -0,0 +1,273 @@
+package com.fooddelivery.api.search;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Uniform latitude/longitude grid of points for radius and k-nearest queries.
+// Reads are lock-free; writes are serialized and replace cell arrays copy-on-write. Bulk loads swap in a whole new
+// grid through IndexGenerations.
+public class GeoIndex<T> {
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+    private static final Entry<?>[] EMPTY = new Entry<?>[0];
+
+    private final double cellDegrees;
+    private final int longitudeCells;
+    private final IndexGenerations<Generation> generations = new IndexGenerations<>(Generation::new);
+
+    public GeoIndex(double cellDegrees) {
+        if (cellDegrees <= 0 || cellDegrees > 10) {
+            throw new IllegalArgumentException("Cell size must be in (0, 10] degrees: " + cellDegrees);
+        }
+        this.cellDegrees = cellDegrees;
+        this.longitudeCells = (int) Math.ceil(360.0 / cellDegrees);
+    }
+
+    public void index(long id, double latitude, double longitude, T value) {
+        Entry<T> entry = new Entry<>(id, latitude, longitude, value);
+        generations.write(generation -> generation.index(entry));
+    }
+
+    public void remove(long id) {
+        generations.write(generation -> generation.remove(id));
+    }
+
+    public void beginBulkLoad() {
+        generations.beginBulkLoad();
+    }
+
+    public void cancelBulkLoad() {
+        generations.cancelBulkLoad();
+    }
+
+    // Swaps in a bulk-built grid; avoids the per-entry copy-on-write cost when loading the whole catalog
+    public void replaceWith(Collection<Entry<T>> loaded) {
+        generations.publish(new Generation(loaded));
+    }
+
+    public Entry<T> get(long id) {
+        return generations.current().entries.get(id);
+    }
+
+    public int size() {
+        return generations.current().entries.size();
+    }
+
+    public Collection<Entry<T>> entries() {
+        return Collections.unmodifiableCollection(generations.current().entries.values());
+    }
+
+    // Every entry within radiusKm of the point, nearest first
+    public List<Hit<T>> withinRadius(double latitude, double longitude, double radiusKm) {
+        List<Hit<T>> hits = new ArrayList<>();
+        collect(generations.current().cells, latitude, longitude, radiusKm, hits);
+        hits.sort(Comparator.comparingDouble(Hit::getDistanceKm));
+        return hits;
+    }
+
+    // Widens the search radius until k entries fall inside it; everything inside the radius has been seen, so the
+    // k closest of those are the true k nearest. Gives up at maxRadiusKm.
+    public List<Hit<T>> nearest(double latitude, double longitude, int k, double maxRadiusKm) {
+        // Every widening reads the same generation, so a bulk load published mid-query cannot mix two grids
+        Map<Long, Entry<T>[]> cells = generations.current().cells;
+        double radiusKm = Math.min(cellDegrees * KM_PER_DEGREE, maxRadiusKm);
+        List<Hit<T>> hits = new ArrayList<>();
+        while (true) {
+            hits.clear();
+            collect(cells, latitude, longitude, radiusKm, hits);
+            if (hits.size() >= k || radiusKm >= maxRadiusKm) {
+                break;
+            }
+            radiusKm = Math.min(radiusKm * 2, maxRadiusKm);
+        }
+
+        hits.sort(Comparator.comparingDouble(Hit::getDistanceKm));
+        return hits.size() > k ? new ArrayList<>(hits.subList(0, k)) : hits;
+    }
+
+    private void collect(Map<Long, Entry<T>[]> cells, double latitude, double longitude, double radiusKm, List<Hit<T>> hits) {
+        double latitudeSpan = radiusKm / KM_PER_DEGREE;
+        double squaredRadiusKm = radiusKm * radiusKm;
+        double queryCosine = Math.cos(Math.toRadians(latitude));
+        int minLatitudeCell = latitudeCell(Math.max(-90.0, latitude - latitudeSpan));
+        int maxLatitudeCell = latitudeCell(Math.min(90.0, latitude + latitudeSpan));
+
+        // Longitude degrees shrink towards the poles; near them, or for huge radii, scan the whole band
+        double widestLatitude = Math.min(90.0, Math.abs(latitude) + latitudeSpan);
+        double cosine = Math.cos(Math.toRadians(widestLatitude));
+        double longitudeSpan = cosine < 1e-6 ? 180.0 : radiusKm / (KM_PER_DEGREE * cosine);
+        int firstLongitudeCell;
+        int longitudeCellCount;
+        if (longitudeSpan >= 180.0) {
+            firstLongitudeCell = 0;
+            longitudeCellCount = longitudeCells;
+        } else {
+            firstLongitudeCell = longitudeCell(longitude - longitudeSpan);
+            longitudeCellCount = Math.min(longitudeCells,
+                    (int) Math.floor((longitude + longitudeSpan + 180.0) / cellDegrees)
+                            - (int) Math.floor((longitude - longitudeSpan + 180.0) / cellDegrees) + 1);
+        }
+
+        for (int latitudeCell = minLatitudeCell; latitudeCell <= maxLatitudeCell; latitudeCell++) {
+            for (int offset = 0; offset < longitudeCellCount; offset++) {
+                Entry<T>[] cell = cells.get(cellKey(latitudeCell, (firstLongitudeCell + offset) % longitudeCells));
+                if (cell == null) {
+                    continue;
+                }
+                for (Entry<T> entry : cell) {
+                    // Equirectangular distance: no trigonometry per entry, and well under 0.1% off haversine at
+                    // delivery distances
+                    double north = (entry.latitude - latitude) * KM_PER_DEGREE;
+                    double east = wrapLongitude(entry.longitude - longitude) * KM_PER_DEGREE * queryCosine;
+                    double squaredKm = north * north + east * east;
+                    if (squaredKm <= squaredRadiusKm) {
+                        hits.add(new Hit<>(entry, Math.sqrt(squaredKm)));
+                    }
+                }
+            }
+        }
+    }
+
+    // Haversine great-circle distance
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double latitudeDelta = Math.toRadians(latitude2 - latitude1);
+        double longitudeDelta = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(latitudeDelta / 2) * Math.sin(latitudeDelta / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(longitudeDelta / 2) * Math.sin(longitudeDelta / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static double wrapLongitude(double degrees) {
+        if (degrees > 180.0) {
+            return degrees - 360.0;
+        }
+        return degrees < -180.0 ? degrees + 360.0 : degrees;
+    }
+
+    private int latitudeCell(double latitude) {
+        return (int) Math.floor((Math.max(-90.0, Math.min(90.0, latitude)) + 90.0) / cellDegrees);
+    }
+
+    private int longitudeCell(double longitude) {
+        int cell = (int) Math.floor((longitude + 180.0) / cellDegrees) % longitudeCells;
+        return cell < 0 ? cell + longitudeCells : cell;
+    }
+
+    private static long cellKey(int latitudeCell, int longitudeCell) {
+        return ((long) latitudeCell << 32) | (longitudeCell & 0xffffffffL);
+    }
+
+    // One complete grid: the cell arrays plus each entry by id, so an entry can be found in its cell and removed
+    private final class Generation {
+        private final Map<Long, Entry<T>[]> cells = new ConcurrentHashMap<>();
+        private final Map<Long, Entry<T>> entries = new ConcurrentHashMap<>();
+
+        Generation() {
+        }
+
+        @SuppressWarnings("unchecked")
+        Generation(Collection<Entry<T>> loaded) {
+            Map<Long, List<Entry<T>>> grouped = new HashMap<>();
+            for (Entry<T> entry : loaded) {
+                grouped.computeIfAbsent(cellKey(latitudeCell(entry.latitude), longitudeCell(entry.longitude)),
+                        key -> new ArrayList<>()).add(entry);
+                entries.put(entry.id, entry);
+            }
+            grouped.forEach((key, list) -> cells.put(key, list.toArray((Entry<T>[]) EMPTY)));
+        }
+
+        void index(Entry<T> entry) {
+            remove(entry.id);
+            cells.compute(cellKey(latitudeCell(entry.latitude), longitudeCell(entry.longitude)),
+                    (key, current) -> with(current, entry));
+            entries.put(entry.id, entry);
+        }
+
+        void remove(long id) {
+            Entry<T> entry = entries.remove(id);
+            if (entry == null) {
+                return;
+            }
+
+            cells.computeIfPresent(cellKey(latitudeCell(entry.latitude), longitudeCell(entry.longitude)),
+                    (key, current) -> without(current, id));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Entry<T>[] with(Entry<T>[] current, Entry<T> entry) {
+        if (current == null) {
+            return (Entry<T>[]) new Entry<?>[]{entry};
+        }
+        Entry<T>[] updated = Arrays.copyOf(current, current.length + 1);
+        updated[current.length] = entry;
+        return updated;
+    }
+
+    private static <T> Entry<T>[] without(Entry<T>[] current, long id) {
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].id == id) {
+                if (current.length == 1) {
+                    return null;
+                }
+                Entry<T>[] updated = Arrays.copyOf(current, current.length - 1);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                return updated;
+            }
+        }
+        return current;
+    }
+
+    public static final class Entry<T> {
+        private final long id;
+        private final double latitude;
+        private final double longitude;
+        private final T value;
+
+        public Entry(long id, double latitude, double longitude, T value) {
+            this.id = id;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.value = value;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public double getLatitude() {
+            return latitude;
+        }
+
+        public double getLongitude() {
+            return longitude;
+        }
+
+        public T getValue() {
+            return value;
+        }
+    }
+
+    public static final class Hit<T> {
+        private final Entry<T> entry;
+        private final double distanceKm;
+
+        private Hit(Entry<T> entry, double distanceKm) {
+            this.entry = entry;
+            this.distanceKm = distanceKm;
+        }
+
+        public long getId() {
+            return entry.id;
+        }
+
+        public T getValue() {
+            return entry.value;
+        }
+
+        public double getDistanceKm() {
+            return distanceKm;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.fooddelivery.api.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// The live generation of an in-memory index, shared by InvertedIndex and GeoIndex. Reads take the current generation
+// without locking; incremental writes are serialized and applied to it in place. A bulk load builds a complete new
+// generation off to the side and publishes it with one volatile write, so readers never see a partial index.
+final class IndexGenerations<G> {
+    private final Supplier<G> emptyGeneration;
+    private volatile G current;
+
+    // Writes made while a bulk load is reading its source; replayed onto the new generation before it is published
+    private List<Consumer<G>> pendingWrites;
+
+    IndexGenerations(Supplier<G> emptyGeneration) {
+        this.emptyGeneration = emptyGeneration;
+        this.current = emptyGeneration.get();
+    }
+
+    G current() {
+        return current;
+    }
+
+    synchronized void write(Consumer<G> change) {
+        change.accept(current);
+        if (pendingWrites != null) {
+            pendingWrites.add(change);
+        }
+    }
+
+    synchronized void clear() {
+        current = emptyGeneration.get();
+    }
+
+    // Call before reading the source of a bulk load: writes from then on are applied to the live generation as usual
+    // and also replayed onto the bulk-built one, so changes committed while the source is scanned are not lost
+    synchronized void beginBulkLoad() {
+        pendingWrites = new ArrayList<>();
+    }
+
+    synchronized void cancelBulkLoad() {
+        pendingWrites = null;
+    }
+
+    // The loaded generation is assembled by the caller outside the lock, so incremental writes only wait for the replay
+    synchronized void publish(G loaded) {
+        if (pendingWrites != null) {
+            pendingWrites.forEach(change -> change.accept(loaded));
+            pendingWrites = null;
+        }
+        current = loaded;
+    }
+}
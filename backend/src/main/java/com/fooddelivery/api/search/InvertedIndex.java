@@ -0,0 +1,406 @@
+package com.fooddelivery.api.search;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Term -> postings index with prefix and single/double-edit typo matching.
+// Reads are lock-free; writes are serialized and replace posting arrays copy-on-write. Bulk loads swap in a whole new
+// generation through IndexGenerations.
+public class InvertedIndex {
+    private static final float EXACT_MATCH = 1.0f;
+    private static final float PREFIX_MATCH = 0.7f;
+    private static final float FUZZY_MATCH = 0.4f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private final IndexGenerations<Generation> generations = new IndexGenerations<>(Generation::new);
+
+    public void index(Long id, Map<String, Float> termWeights) {
+        generations.write(generation -> generation.index(id, termWeights));
+    }
+
+    public void remove(Long id) {
+        generations.write(generation -> generation.remove(id));
+    }
+
+    public void clear() {
+        generations.clear();
+    }
+
+    public void beginBulkLoad() {
+        generations.beginBulkLoad();
+    }
+
+    public void cancelBulkLoad() {
+        generations.cancelBulkLoad();
+    }
+
+    // Swaps in a bulk-built index; avoids the per-document copy-on-write cost when loading millions of documents
+    public void replaceWith(Builder builder) {
+        generations.publish(new Generation(builder));
+    }
+
+    public int documentCount() {
+        return generations.current().documentTerms.size();
+    }
+
+    public int termCount() {
+        return generations.current().postings.size();
+    }
+
+    // Scores are summed across query tokens, so documents matching more of the query rank higher
+    public List<Long> search(String query, int limit) {
+        ConcurrentSkipListMap<String, Postings> postings = generations.current().postings;
+        Scores scores = new Scores();
+
+        for (String token : tokenize(query)) {
+            Scores tokenScores = new Scores();
+
+            Postings exact = postings.get(token);
+            if (exact != null) {
+                exact.collect(tokenScores, EXACT_MATCH);
+            }
+
+            int expansions = 0;
+            for (Map.Entry<String, Postings> entry : postings.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+                if (++expansions > MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                entry.getValue().collect(tokenScores, PREFIX_MATCH);
+            }
+
+            if (tokenScores.isEmpty() && token.length() >= MIN_FUZZY_LENGTH) {
+                int maxEdits = token.length() > 7 ? 2 : 1;
+                String first = token.substring(0, 1);
+                for (Map.Entry<String, Postings> entry : postings.subMap(first, true, first + Character.MAX_VALUE, false).entrySet()) {
+                    String term = entry.getKey();
+                    if (Math.abs(term.length() - token.length()) <= maxEdits && editDistance(token, term, maxEdits) <= maxEdits) {
+                        entry.getValue().collect(tokenScores, FUZZY_MATCH);
+                    }
+                }
+            }
+
+            tokenScores.addTo(scores);
+        }
+
+        return scores.top(limit);
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+
+        List<String> tokens = new ArrayList<>();
+        for (String token : normalized.split("[^\\p{Alnum}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Adds every token of the text with the given weight, keeping the highest weight per term
+    public static void addTerms(Map<String, Float> termWeights, String text, float weight) {
+        for (String token : tokenize(text)) {
+            termWeights.merge(token, weight, Math::max);
+        }
+    }
+
+    // Bounded Damerau-Levenshtein (optimal string alignment); returns maxEdits + 1 once the bound is exceeded
+    static int editDistance(String a, String b, int maxEdits) {
+        int[] previousPrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMinimum = current[0];
+
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    current[j] = Math.min(current[j], previousPrevious[j - 2] + 1);
+                }
+                rowMinimum = Math.min(rowMinimum, current[j]);
+            }
+
+            if (rowMinimum > maxEdits) {
+                return maxEdits + 1;
+            }
+
+            int[] recycled = previousPrevious;
+            previousPrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+
+        return previous[b.length()];
+    }
+
+    // One complete index: term postings plus each document's terms, so a document can be removed from its postings
+    private static final class Generation {
+        private final ConcurrentSkipListMap<String, Postings> postings = new ConcurrentSkipListMap<>();
+        private final Map<Long, String[]> documentTerms = new ConcurrentHashMap<>();
+
+        Generation() {
+        }
+
+        Generation(Builder builder) {
+            builder.terms.forEach((term, list) -> postings.put(term, list.toPostings()));
+            documentTerms.putAll(builder.documentTerms);
+        }
+
+        void index(Long id, Map<String, Float> termWeights) {
+            remove(id);
+            if (termWeights.isEmpty()) {
+                return;
+            }
+
+            for (Map.Entry<String, Float> entry : termWeights.entrySet()) {
+                postings.compute(entry.getKey(), (term, current) ->
+                        (current == null ? Postings.EMPTY : current).with(id, entry.getValue()));
+            }
+            documentTerms.put(id, termWeights.keySet().toArray(new String[0]));
+        }
+
+        void remove(Long id) {
+            String[] terms = documentTerms.remove(id);
+            if (terms == null) {
+                return;
+            }
+
+            for (String term : terms) {
+                postings.computeIfPresent(term, (key, current) -> {
+                    Postings updated = current.without(id);
+                    return updated.size() == 0 ? null : updated;
+                });
+            }
+        }
+    }
+
+    public static class Builder {
+        private final Map<String, PostingsList> terms = new HashMap<>();
+        private final Map<Long, String[]> documentTerms = new HashMap<>();
+
+        public Builder add(Long id, Map<String, Float> termWeights) {
+            if (termWeights.isEmpty()) {
+                return this;
+            }
+
+            for (Map.Entry<String, Float> entry : termWeights.entrySet()) {
+                terms.computeIfAbsent(entry.getKey(), term -> new PostingsList()).add(id, entry.getValue());
+            }
+            documentTerms.put(id, termWeights.keySet().toArray(new String[0]));
+            return this;
+        }
+    }
+
+    private static final class PostingsList {
+        private long[] ids = new long[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        void add(long id, float weight) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            ids[size] = id;
+            weights[size] = weight;
+            size++;
+        }
+
+        Postings toPostings() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparingLong(i -> ids[i]));
+
+            long[] sortedIds = new long[size];
+            float[] sortedWeights = new float[size];
+            for (int i = 0; i < size; i++) {
+                sortedIds[i] = ids[order[i]];
+                sortedWeights[i] = weights[order[i]];
+            }
+            return new Postings(sortedIds, sortedWeights);
+        }
+    }
+
+    // Immutable posting list sorted by document id, kept in primitive arrays to stay compact at millions of entries
+    private static final class Postings {
+        static final Postings EMPTY = new Postings(new long[0], new float[0]);
+
+        private final long[] ids;
+        private final float[] weights;
+
+        private Postings(long[] ids, float[] weights) {
+            this.ids = ids;
+            this.weights = weights;
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        Postings with(long id, float weight) {
+            int position = Arrays.binarySearch(ids, id);
+            if (position >= 0) {
+                float[] updatedWeights = weights.clone();
+                updatedWeights[position] = weight;
+                return new Postings(ids, updatedWeights);
+            }
+
+            int insertAt = -position - 1;
+            long[] updatedIds = new long[ids.length + 1];
+            float[] updatedWeights = new float[weights.length + 1];
+            System.arraycopy(ids, 0, updatedIds, 0, insertAt);
+            System.arraycopy(weights, 0, updatedWeights, 0, insertAt);
+            updatedIds[insertAt] = id;
+            updatedWeights[insertAt] = weight;
+            System.arraycopy(ids, insertAt, updatedIds, insertAt + 1, ids.length - insertAt);
+            System.arraycopy(weights, insertAt, updatedWeights, insertAt + 1, weights.length - insertAt);
+            return new Postings(updatedIds, updatedWeights);
+        }
+
+        Postings without(long id) {
+            int position = Arrays.binarySearch(ids, id);
+            if (position < 0) {
+                return this;
+            }
+
+            long[] updatedIds = new long[ids.length - 1];
+            float[] updatedWeights = new float[weights.length - 1];
+            System.arraycopy(ids, 0, updatedIds, 0, position);
+            System.arraycopy(weights, 0, updatedWeights, 0, position);
+            System.arraycopy(ids, position + 1, updatedIds, position, ids.length - position - 1);
+            System.arraycopy(weights, position + 1, updatedWeights, position, weights.length - position - 1);
+            return new Postings(updatedIds, updatedWeights);
+        }
+
+        void collect(Scores scores, float factor) {
+            for (int i = 0; i < ids.length; i++) {
+                scores.max(ids[i], weights[i] * factor);
+            }
+        }
+    }
+
+    // Open-addressing id -> score table; a common term's posting list can hold millions of ids, and scoring it
+    // through a HashMap<Long, Float> would box every one of them
+    private static final class Scores {
+        private long[] ids = new long[16];
+        private float[] scores = new float[16];
+        private boolean[] used = new boolean[16];
+        private int size;
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void max(long id, float score) {
+            int slot = slot(id);
+            if (!used[slot] || score > scores[slot]) {
+                put(slot, id, score);
+            }
+        }
+
+        void addTo(Scores totals) {
+            for (int i = 0; i < ids.length; i++) {
+                if (used[i]) {
+                    int slot = totals.slot(ids[i]);
+                    totals.put(slot, ids[i], totals.used[slot] ? totals.scores[slot] + scores[i] : scores[i]);
+                }
+            }
+        }
+
+        // Highest score first; ties go to the lower id
+        List<Long> top(int limit) {
+            PriorityQueue<Hit> top = new PriorityQueue<>();
+            for (int i = 0; i < ids.length; i++) {
+                if (!used[i]) {
+                    continue;
+                }
+                if (top.size() < limit) {
+                    top.offer(new Hit(ids[i], scores[i]));
+                } else if (limit > 0 && new Hit(ids[i], scores[i]).compareTo(top.peek()) > 0) {
+                    top.poll();
+                    top.offer(new Hit(ids[i], scores[i]));
+                }
+            }
+
+            LinkedList<Long> result = new LinkedList<>();
+            while (!top.isEmpty()) {
+                result.addFirst(top.poll().id);
+            }
+            return result;
+        }
+
+        private int slot(long id) {
+            int mask = ids.length - 1;
+            int slot = Long.hashCode(id * 0x9E3779B97F4A7C15L) & mask;
+            while (used[slot] && ids[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void put(int slot, long id, float score) {
+            if (!used[slot]) {
+                used[slot] = true;
+                ids[slot] = id;
+                if (++size * 2 > ids.length) {
+                    scores[slot] = score;
+                    resize();
+                    return;
+                }
+            }
+            scores[slot] = score;
+        }
+
+        private void resize() {
+            long[] oldIds = ids;
+            float[] oldScores = scores;
+            boolean[] oldUsed = used;
+            ids = new long[oldIds.length * 2];
+            scores = new float[oldIds.length * 2];
+            used = new boolean[oldIds.length * 2];
+            for (int i = 0; i < oldIds.length; i++) {
+                if (oldUsed[i]) {
+                    int slot = slot(oldIds[i]);
+                    used[slot] = true;
+                    ids[slot] = oldIds[i];
+                    scores[slot] = oldScores[i];
+                }
+            }
+        }
+    }
+
+    private static final class Hit implements Comparable<Hit> {
+        private final long id;
+        private final float score;
+
+        Hit(long id, float score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        // Ordered worst first, so the queue head is the hit to evict
+        @Override
+        public int compareTo(Hit other) {
+            int byScore = Float.compare(score, other.score);
+            return byScore != 0 ? byScore : Long.compare(other.id, id);
+        }
+    }
+}
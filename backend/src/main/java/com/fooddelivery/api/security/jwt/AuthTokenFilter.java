@@ -1,6 +1,11 @@
 package com.fooddelivery.api.security.jwt;
 
+import com.fooddelivery.api.security.services.UserDetailsImpl;
 import com.fooddelivery.api.security.services.UserDetailsServiceImpl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,14 +13,23 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
@@ -24,17 +38,38 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Value("${app.jwt.claims-auth-enabled:false}")
+    private boolean claimsAuthEnabled;
+
+    // In claims mode each user is re-read from the database at most this often, not on every request. A token whose
+    // user is gone, or whose id or roles no longer match the account, is refused once that check has run.
+    @Value("${app.jwt.user-recheck-ms:60000}")
+    private long userRecheckMs;
+
+    @Value("${app.jwt.user-recheck-cache-size:10000}")
+    private long userRecheckCacheSize;
+
+    // Username -> the account as last read from the database; empty once the user no longer exists
+    private Cache<String, Optional<Account>> accounts;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
+    @PostConstruct
+    public void initAccountCache() {
+        accounts = Caffeine.newBuilder()
+                .maximumSize(userRecheckCacheSize)
+                .expireAfterWrite(Duration.ofMillis(userRecheckMs))
+                .build();
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            Claims claims = jwt != null ? jwtUtils.parseJwtClaims(jwt) : null;
+            UserDetails userDetails = claims != null ? loadUserDetails(claims) : null;
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails,
@@ -51,6 +86,49 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Null when the token's claims no longer describe the account
+    private UserDetails loadUserDetails(Claims claims) {
+        if (claimsAuthEnabled) {
+            UserDetailsImpl userDetails = jwtUtils.getUserDetailsFromJwtClaims(claims);
+            if (userDetails != null) {
+                if (matchesAccount(userDetails)) {
+                    return userDetails;
+                }
+                logger.debug("Refusing token for {}: the account was removed or its roles changed", claims.getSubject());
+                return null;
+            }
+        }
+
+        return userDetailsService.loadUserByUsername(claims.getSubject());
+    }
+
+    private boolean matchesAccount(UserDetailsImpl userDetails) {
+        Optional<Account> account = accounts.getIfPresent(userDetails.getUsername());
+        if (account == null) {
+            // Read outside the cache's compute lock, so a slow query holds up only this user's requests; two requests
+            // racing here both read the same row
+            account = findAccount(userDetails.getUsername());
+            accounts.put(userDetails.getUsername(), account);
+        }
+        return account.filter(current -> current.getId().equals(userDetails.getId())
+                && current.getAuthorities().equals(authorityNames(userDetails))).isPresent();
+    }
+
+    private Optional<Account> findAccount(String username) {
+        try {
+            UserDetailsImpl user = (UserDetailsImpl) userDetailsService.loadUserByUsername(username);
+            return Optional.of(new Account(user.getId(), authorityNames(user)));
+        } catch (UsernameNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Set<String> authorityNames(UserDetails userDetails) {
+        return userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
@@ -60,4 +138,11 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
         return null;
     }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class Account {
+        private final Long id;
+        private final Set<String> authorities;
+    }
 }
@@ -0,0 +1,90 @@
+package com.fooddelivery.api.service;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+public class CacheService {
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MenuSnapshotService menuSnapshotService;
+
+    public Map<String, Map<String, Object>> getCacheStatistics() {
+        Map<String, Map<String, Object>> statistics = new LinkedHashMap<>();
+
+        for (String cacheName : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                CacheStats stats = nativeCache.stats();
+
+                Map<String, Object> cacheStatistics = new LinkedHashMap<>();
+                cacheStatistics.put("size", nativeCache.estimatedSize());
+                cacheStatistics.put("hits", stats.hitCount());
+                cacheStatistics.put("misses", stats.missCount());
+                cacheStatistics.put("hitRate", stats.hitRate());
+                cacheStatistics.put("evictions", stats.evictionCount());
+                statistics.put(cacheName, cacheStatistics);
+            }
+        }
+
+        com.github.benmanes.caffeine.cache.Cache<?, ?> snapshots = menuSnapshotService.getCache();
+        CacheStats snapshotStats = snapshots.stats();
+        Map<String, Object> snapshotStatistics = new LinkedHashMap<>();
+        snapshotStatistics.put("size", snapshots.estimatedSize());
+        snapshotStatistics.put("hits", snapshotStats.hitCount());
+        snapshotStatistics.put("misses", snapshotStats.missCount());
+        snapshotStatistics.put("hitRate", snapshotStats.hitRate());
+        snapshotStatistics.put("evictions", snapshotStats.evictionCount());
+        statistics.put(MenuSnapshotService.CACHE_NAME, snapshotStatistics);
+
+        // Hibernate second-level and query cache regions (counts require hibernate.generate_statistics)
+        Statistics hibernateStatistics = sessionFactory().getStatistics();
+        for (String regionName : hibernateStatistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = hibernateStatistics.getCacheRegionStatistics(regionName);
+            if (regionStatistics != null) {
+                long hits = regionStatistics.getHitCount();
+                long misses = regionStatistics.getMissCount();
+
+                Map<String, Object> cacheStatistics = new LinkedHashMap<>();
+                cacheStatistics.put("size", regionStatistics.getElementCountInMemory());
+                cacheStatistics.put("hits", hits);
+                cacheStatistics.put("misses", misses);
+                cacheStatistics.put("hitRate", hits + misses == 0 ? 1.0 : (double) hits / (hits + misses));
+                cacheStatistics.put("puts", regionStatistics.getPutCount());
+                statistics.put(regionName, cacheStatistics);
+            }
+        }
+
+        return statistics;
+    }
+
+    public void clearCache(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        } else if (MenuSnapshotService.CACHE_NAME.equals(cacheName)) {
+            menuSnapshotService.clear();
+        } else {
+            sessionFactory().getCache().evictRegion(cacheName);
+        }
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
@@ -0,0 +1,68 @@
+package com.fooddelivery.api.service;
+
+import com.fooddelivery.api.exception.ResourceNotFoundException;
+import com.fooddelivery.api.model.User;
+import com.fooddelivery.api.repository.UserRepository;
+import com.fooddelivery.api.security.services.UserDetailsImpl;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+@Component
+@RequestScope
+public class CurrentUserContext {
+    private static final Logger logger = LoggerFactory.getLogger(CurrentUserContext.class);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    private int userLookups;
+
+    private int lookupsAvoided;
+
+    // Id-only callers are served from the authenticated principal, so they count as an avoided lookup
+    public Long getUserId() {
+        lookupsAvoided++;
+        return principalId();
+    }
+
+    public User getUser() {
+        if (user != null) {
+            lookupsAvoided++;
+            return user;
+        }
+
+        userLookups++;
+        user = userRepository.findById(principalId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        return user;
+    }
+
+    private Long principalId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        return userDetails.getId();
+    }
+
+    public int getUserLookups() {
+        return userLookups;
+    }
+
+    public int getLookupsAvoided() {
+        return lookupsAvoided;
+    }
+
+    @PreDestroy
+    public void logLookupCounters() {
+        if (userLookups > 0 || lookupsAvoided > 0) {
+            logger.debug("Current user lookups: {} executed, {} avoided", userLookups, lookupsAvoided);
+        }
+    }
+}
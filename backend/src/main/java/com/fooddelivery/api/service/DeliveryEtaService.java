@@ -0,0 +1,215 @@
+package com.fooddelivery.api.service;
+
+import com.fooddelivery.api.event.OrderStatusChangedEvent;
+import com.fooddelivery.api.model.Address;
+import com.fooddelivery.api.model.OrderStatus;
+import com.fooddelivery.api.payload.response.DeliveryEstimateResponse;
+import com.fooddelivery.api.repository.OrderRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Delivery time estimates from per-restaurant kitchen counters kept current by committed order events.
+// Estimating is a couple of map lookups. Events only reach the instance that committed them, so a periodic pass
+// over the orders still in a kitchen picks up and drops the orders other instances moved.
+@Service
+public class DeliveryEtaService {
+    private static final Logger logger = LoggerFactory.getLogger(DeliveryEtaService.class);
+
+    private static final Set<OrderStatus> IN_KITCHEN = EnumSet.of(OrderStatus.RECEIVED, OrderStatus.PREPARING);
+    private static final double MIN_PREP_SAMPLE_MINUTES = 1.0;
+    private static final double MAX_PREP_SAMPLE_MINUTES = 180.0;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private GeoSearchService geoSearchService;
+
+    @Value("${app.eta.default-prep-minutes:15}")
+    private double defaultPrepMinutes;
+
+    // Weight of the newest preparation time in the rolling average
+    @Value("${app.eta.prep-smoothing:0.2}")
+    private double prepSmoothing;
+
+    // Orders a kitchen works on at once; the queue ahead is served in waves of this size
+    @Value("${app.eta.kitchen-parallelism:3}")
+    private int kitchenParallelism;
+
+    @Value("${app.eta.handoff-minutes:5}")
+    private int handoffMinutes;
+
+    // Used when either end of the trip has no coordinates
+    @Value("${app.eta.default-travel-minutes:15}")
+    private int defaultTravelMinutes;
+
+    private final Map<Long, KitchenStats> kitchens = new ConcurrentHashMap<>();
+
+    // Orders still in the kitchen, so READY and CANCELLED know which queue to leave and when preparation began
+    private final Map<Long, KitchenOrder> kitchenOrders = new ConcurrentHashMap<>();
+
+    // Runs before the web server accepts orders, so no transition can slip past the initial load
+    @PostConstruct
+    public void load() {
+        reconcile();
+        logger.info("Delivery ETA counters loaded: {} orders in {} kitchens", kitchenOrders.size(), kitchens.size());
+    }
+
+    // Adds orders another instance received and drops orders another instance moved out of the kitchen. Orders this
+    // instance started tracking after the query began are left alone, as the query may predate their commit; an
+    // order that leaves the kitchen between the query and this pass is re-added and dropped again by the next one.
+    @Scheduled(fixedDelayString = "${app.eta.reconcile-interval-ms:30000}",
+               initialDelayString = "${app.eta.reconcile-interval-ms:30000}")
+    public void reconcile() {
+        long startedAt = System.nanoTime();
+        List<Object[]> rows = orderRepository.findKitchenRows(IN_KITCHEN);
+
+        Set<Long> inKitchen = new HashSet<>();
+        for (Object[] row : rows) {
+            Long orderId = (Long) row[0];
+            OrderStatus status = (OrderStatus) row[2];
+            // The status write sets updatedAt, so for a PREPARING order it is when preparation began
+            LocalDateTime preparingAt = status == OrderStatus.PREPARING ? (LocalDateTime) row[3] : null;
+            KitchenOrder order = track(orderId, (Long) row[1], preparingAt);
+            if (order.getPreparingAt() == null) {
+                order.setPreparingAt(preparingAt);
+            }
+            inKitchen.add(orderId);
+        }
+
+        for (Map.Entry<Long, KitchenOrder> entry : kitchenOrders.entrySet()) {
+            KitchenOrder order = entry.getValue();
+            if (!inKitchen.contains(entry.getKey()) && order.getTrackedAt() - startedAt < 0
+                    && kitchenOrders.remove(entry.getKey(), order)) {
+                kitchen(order.getRestaurantId()).dequeue();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.getStatus() == OrderStatus.RECEIVED) {
+            track(event.getOrderId(), event.getRestaurantId(), null);
+            return;
+        }
+
+        if (event.getStatus() == OrderStatus.PREPARING) {
+            KitchenOrder order = track(event.getOrderId(), event.getRestaurantId(), event.getChangedAt());
+            if (order.getPreparingAt() == null) {
+                order.setPreparingAt(event.getChangedAt());
+            }
+            return;
+        }
+
+        KitchenOrder order = kitchenOrders.remove(event.getOrderId());
+        if (order == null) {
+            return;
+        }
+
+        KitchenStats kitchen = kitchen(order.getRestaurantId());
+        kitchen.dequeue();
+        // Measured from PREPARING, so time spent queued behind other orders is not counted as cooking time
+        if (event.getStatus() == OrderStatus.READY && order.getPreparingAt() != null && event.getChangedAt() != null) {
+            double minutes = Duration.between(order.getPreparingAt(), event.getChangedAt()).toSeconds() / 60.0;
+            if (minutes >= MIN_PREP_SAMPLE_MINUTES && minutes <= MAX_PREP_SAMPLE_MINUTES) {
+                kitchen.recordPrepMinutes(minutes, prepSmoothing);
+            }
+        }
+    }
+
+    public DeliveryEstimateResponse estimate(Long restaurantId, Address deliveryAddress) {
+        Double latitude = deliveryAddress != null ? deliveryAddress.getLatitude() : null;
+        Double longitude = deliveryAddress != null ? deliveryAddress.getLongitude() : null;
+        return estimate(restaurantId, latitude, longitude);
+    }
+
+    public DeliveryEstimateResponse estimate(Long restaurantId, Double latitude, Double longitude) {
+        KitchenStats kitchen = kitchens.get(restaurantId);
+        int queueLength = kitchen != null ? kitchen.getQueueLength() : 0;
+        double prepMinutes = kitchen != null ? kitchen.getPrepMinutes(defaultPrepMinutes) : defaultPrepMinutes;
+
+        // The new order waits for every full wave ahead of it, then cooks in the next one
+        int wavesAhead = queueLength / Math.max(1, kitchenParallelism);
+        int kitchenMinutes = (int) Math.ceil(prepMinutes * (wavesAhead + 1));
+
+        Double distanceKm = latitude != null && longitude != null
+                ? geoSearchService.distanceKm(restaurantId, latitude, longitude)
+                : null;
+        int travelMinutes = distanceKm != null ? geoSearchService.travelMinutes(distanceKm) : defaultTravelMinutes;
+
+        return new DeliveryEstimateResponse(restaurantId, kitchenMinutes + handoffMinutes + travelMinutes,
+                queueLength, (int) Math.round(prepMinutes), kitchenMinutes, travelMinutes,
+                distanceKm != null ? Math.round(distanceKm * 100) / 100.0 : null);
+    }
+
+    private KitchenStats kitchen(Long restaurantId) {
+        return kitchens.computeIfAbsent(restaurantId, id -> new KitchenStats());
+    }
+
+    // Starts tracking an order in its kitchen's queue, or returns the order already tracked
+    private KitchenOrder track(Long orderId, Long restaurantId, LocalDateTime preparingAt) {
+        KitchenOrder order = new KitchenOrder(restaurantId, System.nanoTime(), preparingAt);
+        KitchenOrder existing = kitchenOrders.putIfAbsent(orderId, order);
+        if (existing != null) {
+            return existing;
+        }
+        kitchen(restaurantId).enqueue();
+        return order;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class KitchenOrder {
+        private final Long restaurantId;
+        // System.nanoTime() when this instance started tracking the order
+        private final long trackedAt;
+        // Null while the order is still waiting for the kitchen to start it
+        @Setter
+        private volatile LocalDateTime preparingAt;
+    }
+
+    private static final class KitchenStats {
+        private int queueLength;
+        private double prepMinutes;
+        private long prepSamples;
+
+        synchronized void enqueue() {
+            queueLength++;
+        }
+
+        synchronized void dequeue() {
+            queueLength = Math.max(0, queueLength - 1);
+        }
+
+        synchronized void recordPrepMinutes(double minutes, double smoothing) {
+            prepMinutes = prepSamples == 0 ? minutes : prepMinutes + smoothing * (minutes - prepMinutes);
+            prepSamples++;
+        }
+
+        synchronized int getQueueLength() {
+            return queueLength;
+        }
+
+        synchronized double getPrepMinutes(double fallback) {
+            return prepSamples == 0 ? fallback : prepMinutes;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.fooddelivery.api.service;
+
+import com.fooddelivery.api.event.RestaurantChangedEvent;
+import com.fooddelivery.api.event.RestaurantDeletedEvent;
+import com.fooddelivery.api.model.Restaurant;
+import com.fooddelivery.api.repository.RestaurantRepository;
+import com.fooddelivery.api.search.GeoIndex;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Restaurant locations in a lat/lng grid, answering "who delivers here" and "what is closest" from memory
+@Service
+public class GeoSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(GeoSearchService.class);
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final Pattern MINUTES = Pattern.compile("(\\d+)(?:\\s*-\\s*(\\d+))?");
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final GeoIndex<Site> index;
+    private final double defaultDeliveryRadiusKm;
+    private final double maxSearchRadiusKm;
+    private final double courierSpeedKmh;
+    private final int defaultDeliveryMinutes;
+
+    // Largest delivery radius in the index, so a delivers-to query scans no further than any restaurant reaches
+    private volatile double maxDeliveryRadiusKm;
+
+    public GeoSearchService(@Value("${app.geo.cell-degrees:0.02}") double cellDegrees,
+                            @Value("${app.geo.default-delivery-radius-km:8}") double defaultDeliveryRadiusKm,
+                            @Value("${app.geo.max-search-radius-km:50}") double maxSearchRadiusKm,
+                            @Value("${app.geo.courier-speed-kmh:20}") double courierSpeedKmh,
+                            @Value("${app.geo.default-delivery-minutes:30}") int defaultDeliveryMinutes) {
+        this.index = new GeoIndex<>(cellDegrees);
+        this.defaultDeliveryRadiusKm = defaultDeliveryRadiusKm;
+        this.maxSearchRadiusKm = maxSearchRadiusKm;
+        this.courierSpeedKmh = courierSpeedKmh;
+        this.defaultDeliveryMinutes = defaultDeliveryMinutes;
+        this.maxDeliveryRadiusKm = defaultDeliveryRadiusKm;
+    }
+
+    // Restaurants that move while the location scan runs are re-applied to the loaded grid before it goes live
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        index.beginBulkLoad();
+        try {
+            load();
+        } catch (RuntimeException e) {
+            index.cancelBulkLoad();
+            throw e;
+        }
+    }
+
+    private void load() {
+        long start = System.currentTimeMillis();
+        List<GeoIndex.Entry<Site>> entries = new ArrayList<>();
+
+        Long lastId = 0L;
+        List<Object[]> rows;
+        do {
+            rows = restaurantRepository.findGeoRowsAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (Object[] row : rows) {
+                Long id = (Long) row[0];
+                Site site = site((Double) row[3], (String) row[4]);
+                entries.add(new GeoIndex.Entry<>(id, (Double) row[1], (Double) row[2], site));
+                lastId = id;
+            }
+        } while (rows.size() == REBUILD_BATCH_SIZE);
+
+        index.replaceWith(entries);
+        resetMaxDeliveryRadius();
+
+        logger.info("Geo index built in {} ms: {} restaurants", System.currentTimeMillis() - start, index.size());
+    }
+
+    // Restaurants whose delivery radius covers the point, best estimated time to the door first
+    public List<NearbyRestaurant> findDeliveringTo(double latitude, double longitude, int limit) {
+        List<NearbyRestaurant> results = new ArrayList<>();
+        for (GeoIndex.Hit<Site> hit : index.withinRadius(latitude, longitude, maxDeliveryRadiusKm)) {
+            if (hit.getDistanceKm() <= hit.getValue().getDeliveryRadiusKm()) {
+                results.add(toResult(hit));
+            }
+        }
+
+        results.sort(Comparator.comparingInt(NearbyRestaurant::getEstimatedDeliveryMinutes)
+                .thenComparingDouble(NearbyRestaurant::getDistanceKm));
+        return results.size() > limit ? new ArrayList<>(results.subList(0, limit)) : results;
+    }
+
+    // The k closest restaurants by distance, whether or not they deliver that far
+    public List<NearbyRestaurant> findNearest(double latitude, double longitude, int k) {
+        List<NearbyRestaurant> results = new ArrayList<>();
+        for (GeoIndex.Hit<Site> hit : index.nearest(latitude, longitude, k, maxSearchRadiusKm)) {
+            results.add(toResult(hit));
+        }
+        return results;
+    }
+
+    // Great-circle distance from a restaurant to a point, or null when the restaurant has no location
+    public Double distanceKm(Long restaurantId, double latitude, double longitude) {
+        GeoIndex.Entry<Site> entry = index.get(restaurantId);
+        return entry == null ? null : GeoIndex.distanceKm(entry.getLatitude(), entry.getLongitude(), latitude, longitude);
+    }
+
+    public int travelMinutes(double distanceKm) {
+        return (int) Math.ceil(distanceKm / courierSpeedKmh * 60.0);
+    }
+
+    // Applied once the write has committed, re-reading the restaurant and its address so a rolled-back write or a
+    // pre-commit value never reaches the grid. Address edits publish this for every restaurant at the address.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> restaurantRepository.findById(event.getRestaurantId())
+                .ifPresentOrElse(this::indexRestaurant, () -> index.remove(event.getRestaurantId())));
+    }
+
+    private void indexRestaurant(Restaurant restaurant) {
+        if (restaurant.getAddress() == null
+                || restaurant.getAddress().getLatitude() == null || restaurant.getAddress().getLongitude() == null) {
+            index.remove(restaurant.getId());
+            return;
+        }
+
+        Site site = site(restaurant.getDeliveryRadiusKm(), restaurant.getDeliveryTime());
+        index.index(restaurant.getId(), restaurant.getAddress().getLatitude(), restaurant.getAddress().getLongitude(), site);
+        raiseMaxDeliveryRadius(site.getDeliveryRadiusKm());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantDeleted(RestaurantDeletedEvent event) {
+        index.remove(event.getRestaurantId());
+    }
+
+    private synchronized void raiseMaxDeliveryRadius(double deliveryRadiusKm) {
+        if (deliveryRadiusKm > maxDeliveryRadiusKm) {
+            maxDeliveryRadiusKm = deliveryRadiusKm;
+        }
+    }
+
+    // Recomputed from the published grid, which already holds any replayed writes; under the same lock as
+    // raiseMaxDeliveryRadius so a concurrent write's larger radius is not overwritten with a stale maximum
+    private synchronized void resetMaxDeliveryRadius() {
+        double maxRadius = defaultDeliveryRadiusKm;
+        for (GeoIndex.Entry<Site> entry : index.entries()) {
+            maxRadius = Math.max(maxRadius, entry.getValue().getDeliveryRadiusKm());
+        }
+        maxDeliveryRadiusKm = maxRadius;
+    }
+
+    private NearbyRestaurant toResult(GeoIndex.Hit<Site> hit) {
+        return new NearbyRestaurant(hit.getId(), hit.getDistanceKm(),
+                hit.getValue().getDeliveryMinutes() + travelMinutes(hit.getDistanceKm()));
+    }
+
+    private Site site(Double deliveryRadiusKm, String deliveryTime) {
+        return new Site(deliveryRadiusKm != null ? deliveryRadiusKm : defaultDeliveryRadiusKm,
+                parseDeliveryMinutes(deliveryTime, defaultDeliveryMinutes));
+    }
+
+    // "25-35 min" -> 30, "40 min" -> 40; anything else falls back to the default
+    static int parseDeliveryMinutes(String deliveryTime, int defaultMinutes) {
+        if (deliveryTime == null) {
+            return defaultMinutes;
+        }
+        Matcher matcher = MINUTES.matcher(deliveryTime);
+        if (!matcher.find()) {
+            return defaultMinutes;
+        }
+        int low = Integer.parseInt(matcher.group(1));
+        return matcher.group(2) == null ? low : (low + Integer.parseInt(matcher.group(2))) / 2;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static final class Site {
+        private final double deliveryRadiusKm;
+        private final int deliveryMinutes;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static final class NearbyRestaurant {
+        private final Long restaurantId;
+        private final double distanceKm;
+        private final int estimatedDeliveryMinutes;
+    }
+}
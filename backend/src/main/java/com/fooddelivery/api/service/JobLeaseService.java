@@ -0,0 +1,71 @@
+package com.fooddelivery.api.service;
+
+import com.fooddelivery.api.model.JobLease;
+import com.fooddelivery.api.repository.JobLeaseRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+// Database leases that let exactly one instance run a background job at a time. The holder renews its lease each
+// time the job runs; if it stops renewing (crash, shutdown, long pause) another instance takes over once the lease
+// expires. Instance clocks must agree to well within the lease duration.
+@Service
+public class JobLeaseService {
+    private final String owner = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public boolean tryAcquire(String name, Duration duration) {
+        LocalDateTime now = LocalDateTime.now();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (jobLeaseRepository.tryAcquire(name, owner, now, now.plus(duration)) == 1) {
+                    return true;
+                }
+                if (jobLeaseRepository.existsById(name)) {
+                    return false;
+                }
+                jobLeaseRepository.saveAndFlush(new JobLease(name, owner, now.plus(duration)));
+                return true;
+            }));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the lease row first
+            return false;
+        }
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    // Hands leases over at once on a clean shutdown instead of after they expire
+    @PreDestroy
+    public void releaseAll() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                jobLeaseRepository.releaseAll(owner, LocalDateTime.now()));
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -1,14 +1,21 @@
 package com.fooddelivery.api.service;
 
+import com.fooddelivery.api.event.MenuChangedEvent;
 import com.fooddelivery.api.exception.ResourceNotFoundException;
 import com.fooddelivery.api.model.MenuItem;
 import com.fooddelivery.api.model.Restaurant;
 import com.fooddelivery.api.repository.MenuItemRepository;
 import com.fooddelivery.api.repository.RestaurantRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class MenuItemService {
@@ -17,10 +24,12 @@ public class MenuItemService {
     
     @Autowired
     private RestaurantRepository restaurantRepository;
-
-    public List<MenuItem> getMenuItemsByRestaurant(Long restaurantId) {
-        return menuItemRepository.findByRestaurantId(restaurantId);
-    }
+    
+    @Autowired
+    private SearchIndexService searchIndexService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public List<MenuItem> getMenuItemsByRestaurantAndCategory(Long restaurantId, String category) {
         return menuItemRepository.findByRestaurantIdAndCategory(restaurantId, category);
@@ -31,14 +40,29 @@ public class MenuItemService {
                 .orElseThrow(() -> new ResourceNotFoundException("Menu item not found with id: " + id));
     }
 
+    public List<MenuItem> searchMenuItems(String keyword, int limit) {
+        List<Long> rankedIds = searchIndexService.searchMenuItemIds(keyword, limit);
+        Map<Long, MenuItem> menuItems = menuItemRepository.findAllById(rankedIds).stream()
+                .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+        
+        return rankedIds.stream()
+                .map(menuItems::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
     public MenuItem createMenuItem(MenuItem menuItem) {
         Restaurant restaurant = restaurantRepository.findById(menuItem.getRestaurant().getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found"));
         
         menuItem.setRestaurant(restaurant);
-        return menuItemRepository.save(menuItem);
+        MenuItem savedMenuItem = menuItemRepository.save(menuItem);
+        eventPublisher.publishEvent(new MenuChangedEvent(savedMenuItem.getRestaurant().getId(), savedMenuItem.getId()));
+        return savedMenuItem;
     }
 
+    @Transactional
     public MenuItem updateMenuItem(Long id, MenuItem menuItemDetails) {
         MenuItem menuItem = getMenuItemById(id);
         
@@ -49,11 +73,15 @@ public class MenuItemService {
         menuItem.setCategory(menuItemDetails.getCategory());
         menuItem.setAvailable(menuItemDetails.getAvailable());
         
-        return menuItemRepository.save(menuItem);
+        MenuItem savedMenuItem = menuItemRepository.save(menuItem);
+        eventPublisher.publishEvent(new MenuChangedEvent(savedMenuItem.getRestaurant().getId(), savedMenuItem.getId()));
+        return savedMenuItem;
     }
 
+    @Transactional
     public void deleteMenuItem(Long id) {
         MenuItem menuItem = getMenuItemById(id);
         menuItemRepository.delete(menuItem);
+        eventPublisher.publishEvent(new MenuChangedEvent(menuItem.getRestaurant().getId(), id));
     }
 }
@@ -0,0 +1,168 @@
+package com.fooddelivery.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.api.event.MenuChangedEvent;
+import com.fooddelivery.api.event.RestaurantDeletedEvent;
+import com.fooddelivery.api.exception.ResourceNotFoundException;
+import com.fooddelivery.api.model.MenuItem;
+import com.fooddelivery.api.repository.MenuItemRepository;
+import com.fooddelivery.api.repository.RestaurantRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+// Each restaurant's menu, kept as ready-to-send JSON and gzip bytes. Reads never query or serialize once a
+// snapshot exists; menu writes committed on this instance rebuild it, and snapshots expire after ttl-ms so writes
+// committed through other instances show up within that bound.
+@Service
+public class MenuSnapshotService {
+    public static final String CACHE_NAME = "menuSnapshots";
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Cache<Long, MenuSnapshot> snapshots;
+
+    // Numbers builds in start order: a build that started later read later committed state, so it wins
+    private final AtomicLong generations = new AtomicLong();
+
+    public MenuSnapshotService(PlatformTransactionManager transactionManager,
+                               @Value("${app.menu-snapshot.max-restaurants:10000}") long maxRestaurants,
+                               @Value("${app.menu-snapshot.ttl-ms:300000}") long ttlMs) {
+        // Rebuilds run after commit, where the finished transaction's resources are still bound
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setReadOnly(true);
+
+        snapshots = Caffeine.newBuilder()
+                .maximumSize(maxRestaurants)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+    }
+
+    // Built outside the cache's compute lock, so a miss holds no lock while it waits for a connection and queries;
+    // concurrent misses on one restaurant may each build, and the latest build is kept
+    public MenuSnapshot getSnapshot(Long restaurantId) {
+        MenuSnapshot snapshot = snapshots.getIfPresent(restaurantId);
+        if (snapshot == null) {
+            snapshot = rebuild(restaurantId);
+        }
+        if (snapshot == null) {
+            throw new ResourceNotFoundException("Restaurant not found with id: " + restaurantId);
+        }
+        return snapshot;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        rebuild(event.getRestaurantId());
+    }
+
+    public MenuSnapshot rebuild(Long restaurantId) {
+        MenuSnapshot snapshot = build(restaurantId);
+        if (snapshot == null) {
+            snapshots.invalidate(restaurantId);
+            return null;
+        }
+        return snapshots.asMap().merge(restaurantId, snapshot,
+                (current, built) -> built.getGeneration() > current.getGeneration() ? built : current);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantDeleted(RestaurantDeletedEvent event) {
+        snapshots.invalidate(event.getRestaurantId());
+    }
+
+    // Serialized inside the read transaction, so lazy restaurant fields resolve without open-in-view. Returns null
+    // for a restaurant that does not exist, so arbitrary ids never occupy the cache.
+    private MenuSnapshot build(Long restaurantId) {
+        long generation = generations.incrementAndGet();
+        byte[] json = transactionTemplate.execute(status -> {
+            List<MenuItem> menuItems = menuItemRepository.findByRestaurantId(restaurantId);
+            if (menuItems.isEmpty() && !restaurantRepository.existsById(restaurantId)) {
+                return null;
+            }
+            try {
+                return objectMapper.writeValueAsBytes(menuItems);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Cannot serialize menu for restaurant " + restaurantId, e);
+            }
+        });
+        return json != null ? new MenuSnapshot(restaurantId, generation, json) : null;
+    }
+
+    public void clear() {
+        snapshots.invalidateAll();
+    }
+
+    public Cache<Long, MenuSnapshot> getCache() {
+        return snapshots;
+    }
+
+    @Getter
+    public static final class MenuSnapshot {
+        private final long generation;
+        // Derived from the bytes, so it stays valid across restarts and agrees between instances. The gzip body is a
+        // different representation, so it has its own strong validator.
+        private final String etag;
+        private final String gzipEtag;
+        private final byte[] json;
+        private final byte[] gzip;
+
+        MenuSnapshot(Long restaurantId, long generation, byte[] json) {
+            String version = restaurantId + "-" + contentVersion(json);
+            this.generation = generation;
+            this.etag = "\"" + version + "\"";
+            this.gzipEtag = "\"" + version + "-gzip\"";
+            this.json = json;
+            this.gzip = gzip(json);
+        }
+
+        private static String contentVersion(byte[] json) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+                return HexFormat.of().formatHex(digest, 0, 12);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private static byte[] gzip(byte[] json) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+                out.write(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return buffer.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.fooddelivery.api.service;
+
+import com.fooddelivery.api.model.OrderStatus;
+import com.fooddelivery.api.repository.ArchivedOrderRepository;
+import com.fooddelivery.api.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+// Moves DELIVERED and CANCELLED orders past the configured age from orders/order_items into the archive tables,
+// one bounded batch per transaction, so the hot tables only hold recent and in-flight orders. Instances take turns
+// through the "order-archiver" lease in job_leases, so two never race to copy the same batch.
+@Service
+public class OrderArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(OrderArchiveService.class);
+
+    private static final Set<OrderStatus> ARCHIVABLE = EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+    private static final String ARCHIVER_LEASE = "order-archiver";
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Value("${app.orders.archive.enabled:true}")
+    private boolean enabled;
+
+    // Renewed before every batch, so it only has to outlast one
+    @Value("${app.orders.archive.lease-ms:120000}")
+    private long leaseMs;
+
+    @Value("${app.orders.archive.age-days:30}")
+    private long ageDays;
+
+    @Value("${app.orders.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.orders.archive.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(fixedDelayString = "${app.orders.archive.interval-ms:300000}",
+               initialDelayString = "${app.orders.archive.initial-delay-ms:60000}")
+    public void archiveCompletedOrders() {
+        if (!enabled || !holdsArchiverLease()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        LocalDateTime cutoff = getArchiveHorizon();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        int archived = 0;
+        int moved;
+        int batches = 0;
+        do {
+            moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            archived += moved;
+            batches++;
+        } while (moved == batchSize && batches < maxBatchesPerRun && holdsArchiverLease());
+
+        if (archived > 0) {
+            Counter.builder("orders.archived")
+                    .description("Completed orders moved to the archive tables")
+                    .register(meterRegistry)
+                    .increment(archived);
+            logger.info("Archived {} orders older than {} in {} ms", archived, cutoff, System.currentTimeMillis() - start);
+        }
+    }
+
+    // Every archived order was last updated before this, so its createdAt is older too
+    public LocalDateTime getArchiveHorizon() {
+        return LocalDateTime.now().minus(Duration.ofDays(ageDays));
+    }
+
+    private boolean holdsArchiverLease() {
+        return jobLeaseService.tryAcquire(ARCHIVER_LEASE, Duration.ofMillis(leaseMs));
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<Long> ids = orderRepository.findIdsToArchive(ARCHIVABLE, cutoff, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        archivedOrderRepository.copyOrders(ids);
+        archivedOrderRepository.copyOrderItems(ids);
+        orderRepository.deleteItemsByOrderIds(ids);
+        return orderRepository.deleteByIds(ids);
+    }
+}
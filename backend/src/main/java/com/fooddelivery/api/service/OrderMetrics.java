@@ -0,0 +1,41 @@
+package com.fooddelivery.api.service;
+
+import com.fooddelivery.api.event.OrderStatusChangedEvent;
+import com.fooddelivery.api.model.OrderStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Business counters, fed from committed order events so rolled-back orders are never counted
+@Component
+public class OrderMetrics {
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Tagging by restaurant adds series without bound as the catalog grows; only for small catalogs or debugging
+    @Value("${app.metrics.per-restaurant:false}")
+    private boolean perRestaurant;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        String restaurant = perRestaurant ? String.valueOf(event.getRestaurantId()) : "all";
+
+        if (event.getStatus() == OrderStatus.RECEIVED) {
+            Counter.builder("orders.created")
+                    .description("Orders placed")
+                    .tag("restaurant", restaurant)
+                    .register(meterRegistry)
+                    .increment();
+        }
+
+        Counter.builder("orders.status")
+                .description("Orders entering each status")
+                .tag("status", event.getStatus().name())
+                .tag("restaurant", restaurant)
+                .register(meterRegistry)
+                .increment();
+    }
+}
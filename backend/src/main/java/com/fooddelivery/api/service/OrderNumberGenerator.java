@@ -0,0 +1,84 @@
+package com.fooddelivery.api.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Time-ordered, node-unique ids: 41 bits of milliseconds since EPOCH_MS, 10 bits of node id, 12 bits of sequence.
+// The last (timestamp, sequence) pair is packed into one AtomicLong, so generation is a single CAS with no locks.
+@Component
+public class OrderNumberGenerator {
+    private static final long EPOCH_MS = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final String PREFIX = "ORD-";
+
+    private final long nodeId;
+
+    private final AtomicLong lastState = new AtomicLong();
+
+    // The host-name fallback is for a single instance only: two hosts hash to the same node id about once per 1024
+    // pairs, and from then on they mint the same numbers. Deployments with more than one instance set require-node-id.
+    public OrderNumberGenerator(@Value("${app.order-number.node-id:-1}") long configuredNodeId,
+                                @Value("${app.order-number.require-node-id:false}") boolean nodeIdRequired) {
+        if (configuredNodeId > MAX_NODE_ID) {
+            throw new IllegalStateException("app.order-number.node-id must be between 0 and " + MAX_NODE_ID
+                    + ", found " + configuredNodeId);
+        }
+        if (configuredNodeId < 0 && nodeIdRequired) {
+            throw new IllegalStateException("app.order-number.node-id must be set to a value unique to this instance "
+                    + "when app.order-number.require-node-id=true");
+        }
+        this.nodeId = configuredNodeId >= 0 ? configuredNodeId : defaultNodeId();
+    }
+
+    public String nextOrderNumber() {
+        return PREFIX + Long.toString(nextId(), 36).toUpperCase(Locale.ROOT);
+    }
+
+    public long nextId() {
+        while (true) {
+            long current = lastState.get();
+            long lastTimestamp = current >>> SEQUENCE_BITS;
+            long now = System.currentTimeMillis() - EPOCH_MS;
+
+            long timestamp;
+            long sequence;
+            if (now > lastTimestamp) {
+                timestamp = now;
+                sequence = 0;
+            } else {
+                // Same millisecond or the clock moved backwards: keep counting on the last timestamp,
+                // borrowing the next millisecond once its sequence space is exhausted
+                timestamp = lastTimestamp;
+                sequence = (current & SEQUENCE_MASK) + 1;
+                if (sequence > SEQUENCE_MASK) {
+                    timestamp++;
+                    sequence = 0;
+                }
+            }
+
+            if (lastState.compareAndSet(current, (timestamp << SEQUENCE_BITS) | sequence)) {
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+
+    private static long defaultNodeId() {
+        try {
+            return InetAddress.getLocalHost().getHostName().hashCode() & MAX_NODE_ID;
+        } catch (UnknownHostException e) {
+            return 0;
+        }
+    }
+}
@@ -1,27 +1,54 @@
 package com.fooddelivery.api.service;
 
+import com.fooddelivery.api.event.OrderStatusChangedEvent;
+import com.fooddelivery.api.exception.BadRequestException;
+import com.fooddelivery.api.exception.ConflictException;
 import com.fooddelivery.api.exception.ResourceNotFoundException;
 import com.fooddelivery.api.model.*;
 import com.fooddelivery.api.payload.request.OrderItemRequest;
 import com.fooddelivery.api.payload.request.OrderRequest;
+import com.fooddelivery.api.payload.request.PageCursor;
+import com.fooddelivery.api.payload.response.ActiveOrdersResponse;
+import com.fooddelivery.api.payload.response.KeysetPage;
+import com.fooddelivery.api.payload.response.OrderResponse;
+import com.fooddelivery.api.repository.ArchivedOrderRepository;
 import com.fooddelivery.api.repository.MenuItemRepository;
 import com.fooddelivery.api.repository.OrderRepository;
 import com.fooddelivery.api.repository.RestaurantRepository;
 import com.fooddelivery.api.security.services.UserDetailsImpl;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Random;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
+    private static final Set<OrderStatus> ACTIVE_STATUSES =
+            EnumSet.complementOf(EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED));
+    private static final Set<OrderStatus> ALL_STATUSES = EnumSet.allOf(OrderStatus.class);
+    private static final Comparator<Order> NEWEST_FIRST =
+            Comparator.comparing(Order::getCreatedAt).thenComparing(Order::getId).reversed();
+    
     @Autowired
     private OrderRepository orderRepository;
     
@@ -33,27 +60,109 @@ public class OrderService {
     
     @Autowired
     private UserService userService;
+    
+    @Autowired
+    private OrderNumberGenerator orderNumberGenerator;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private OutboxService outboxService;
+    
+    @Autowired
+    private DeliveryEtaService deliveryEtaService;
+    
+    @Autowired
+    private ArchivedOrderRepository archivedOrderRepository;
+    
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+    
+    // updatedAt is stamped before commit, so a change can become visible after a poll that already passed its
+    // timestamp; feed cursors trail the clock by this much and re-send anything newer
+    @Value("${app.orders.active-feed.overlap-ms:5000}")
+    private long activeFeedOverlapMs;
 
-    public List<Order> getCurrentUserOrders() {
-        User currentUser = userService.getCurrentUser();
-        return orderRepository.findByUserId(currentUser.getId());
+    @Transactional(readOnly = true)
+    public KeysetPage<Order> getCurrentUserOrdersPage(String cursor, int pageSize) {
+        Long userId = userService.getCurrentUserId();
+        PageCursor before = PageCursor.decode(cursor);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        
+        List<Order> rows = before == null
+                ? orderRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, limit)
+                : orderRepository.findByUserIdBefore(userId, before.getCreatedAt(), before.getId(), limit);
+        rows = withArchivedPage(rows, pageSize, () -> before == null
+                ? archivedOrderRepository.findByUserIdOrderByCreatedAtDescIdDesc(userId, limit)
+                : archivedOrderRepository.findByUserIdBefore(userId, before.getCreatedAt(), before.getId(), limit));
+        
+        return KeysetPage.of(rows, pageSize, Order::getCreatedAt, Order::getId);
     }
 
-    public List<Order> getRestaurantOrders(Long restaurantId) {
-        return orderRepository.findByRestaurantId(restaurantId);
+    @Transactional(readOnly = true)
+    public KeysetPage<Order> getRestaurantOrdersPage(Long restaurantId, String cursor, int pageSize) {
+        PageCursor before = PageCursor.decode(cursor);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        
+        List<Order> rows = before == null
+                ? orderRepository.findByRestaurantIdOrderByCreatedAtDescIdDesc(restaurantId, limit)
+                : orderRepository.findByRestaurantIdBefore(restaurantId, before.getCreatedAt(), before.getId(), limit);
+        rows = withArchivedPage(rows, pageSize, () -> before == null
+                ? archivedOrderRepository.findByRestaurantIdOrderByCreatedAtDescIdDesc(restaurantId, limit)
+                : archivedOrderRepository.findByRestaurantIdBefore(restaurantId, before.getCreatedAt(), before.getId(), limit));
+        
+        return KeysetPage.of(rows, pageSize, Order::getCreatedAt, Order::getId);
     }
 
+    // Without a cursor: every non-terminal order. With one: orders of any status changed since it, oldest first
+    @Transactional(readOnly = true)
+    public ActiveOrdersResponse getActiveRestaurantOrders(Long restaurantId, String cursor) {
+        PageCursor since = PageCursor.decode(cursor);
+        PageCursor horizon = new PageCursor(LocalDateTime.now().minus(Duration.ofMillis(activeFeedOverlapMs)), 0L);
+        
+        if (since == null) {
+            List<Order> active = orderRepository.findActiveByRestaurantId(restaurantId, ACTIVE_STATUSES);
+            return new ActiveOrdersResponse(toResponses(active), horizon.encode(), false, false);
+        }
+        
+        int limit = PageCursor.MAX_PAGE_SIZE;
+        List<Order> changed = orderRepository.findChangedByRestaurantIdAfter(restaurantId, ALL_STATUSES,
+                since.getCreatedAt(), since.getId(), PageRequest.of(0, limit + 1));
+        boolean hasMore = changed.size() > limit;
+        if (hasMore) {
+            changed = new ArrayList<>(changed.subList(0, limit));
+        }
+        
+        // Advance to the last row returned, but never past the horizon, so late commits are picked up next poll
+        PageCursor next = since;
+        if (!changed.isEmpty()) {
+            Order last = changed.get(changed.size() - 1);
+            next = new PageCursor(last.getUpdatedAt(), last.getId());
+        }
+        if (!hasMore && next.getCreatedAt().isAfter(horizon.getCreatedAt())) {
+            next = since.getCreatedAt().isAfter(horizon.getCreatedAt()) ? since : horizon;
+        }
+        
+        return new ActiveOrdersResponse(toResponses(changed), next.encode(), true, hasMore);
+    }
+
+    @Transactional(readOnly = true)
     public Order getOrderById(Long id) {
         return orderRepository.findById(id)
+                .or(() -> archivedOrderRepository.findById(id).map(ArchivedOrder::toOrder))
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
     public Order getOrderByOrderNumber(String orderNumber) {
         return orderRepository.findByOrderNumber(orderNumber)
+                .or(() -> archivedOrderRepository.findByOrderNumber(orderNumber).map(ArchivedOrder::toOrder))
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with order number: " + orderNumber));
     }
 
     @Transactional
+    @Timed(value = "orders.create", histogram = true)
     public Order createOrder(OrderRequest orderRequest) {
         User currentUser = userService.getCurrentUser();
         
@@ -63,21 +172,113 @@ public class OrderService {
         Address deliveryAddress = userService.getUserAddressById(orderRequest.getDeliveryAddressId());
         
         Order order = new Order();
-        order.setOrderNumber(generateOrderNumber());
+        order.setOrderNumber(orderNumberGenerator.nextOrderNumber());
         order.setStatus(OrderStatus.RECEIVED);
         order.setUser(currentUser);
         order.setRestaurant(restaurant);
         order.setDeliveryAddress(deliveryAddress);
         order.setPaymentMethod(orderRequest.getPaymentMethod());
         order.setPaymentStatus("PAID");
-        order.setEstimatedDeliveryTime(30);
+        order.setEstimatedDeliveryTime(deliveryEtaService.estimate(restaurant.getId(), deliveryAddress)
+                .getEstimatedDeliveryMinutes());
+        
+        Map<Long, MenuItem> menuItems = resolveMenuItems(restaurant, orderRequest.getItems());
+        
+        BigDecimal subtotal = priceOrderItems(order, orderRequest.getItems(), menuItems);
+        
+        order.setSubtotal(subtotal);
+        order.setDeliveryFee(restaurant.getDeliveryFee());
+        order.setServiceFee(new BigDecimal("1.99"));
+        order.setTotal(subtotal.add(restaurant.getDeliveryFee()).add(new BigDecimal("1.99")));
+        
+        Order savedOrder = orderRepository.save(order);
+        OrderStatusChangedEvent event = OrderStatusChangedEvent.of(savedOrder);
+        outboxService.record(OutboxService.ORDER_CREATED, event);
+        eventPublisher.publishEvent(event);
+        return savedOrder;
+    }
+
+    @Transactional
+    @Timed(value = "orders.status.update", histogram = true)
+    public Order updateOrderStatus(Long id, OrderStatus status) {
+        // Archived orders are terminal, so they resolve here only to be rejected as a transition
+        OrderStatus current = orderRepository.findStatusById(id)
+                .or(() -> archivedOrderRepository.findStatusById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+        
+        if (current == status) {
+            return getOrderById(id);
+        }
+        
+        if (!current.canTransitionTo(status)) {
+            throw new BadRequestException("Cannot change order status from " + current + " to " + status);
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime deliveredAt = status == OrderStatus.DELIVERED ? now : null;
+        
+        if (orderRepository.updateStatusIfCurrent(id, current, status, now, deliveredAt) == 0) {
+            OrderStatus latest = orderRepository.findStatusById(id).orElse(null);
+            throw new ConflictException("Order " + id + " was concurrently changed from " + current + " to " + latest);
+        }
+        
+        Order order = getOrderById(id);
+        OrderStatusChangedEvent event = OrderStatusChangedEvent.of(order);
+        outboxService.record(OutboxService.ORDER_STATUS_CHANGED, event);
+        eventPublisher.publishEvent(event);
+        return order;
+    }
+
+    private static List<OrderResponse> toResponses(List<Order> orders) {
+        return orders.stream()
+                .map(OrderResponse::build)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public void deleteOrder(Long id) {
+        Optional<Order> order = orderRepository.findById(id);
+        if (order.isPresent()) {
+            orderRepository.delete(order.get());
+            return;
+        }
         
+        ArchivedOrder archivedOrder = archivedOrderRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+        archivedOrderRepository.deleteItemsByOrderId(id);
+        archivedOrderRepository.delete(archivedOrder);
+    }
+    
+    // Hot rows plus archived ones, newest first; an order caught mid-archive appears once
+    private static List<Order> withArchived(List<Order> hotRows, List<ArchivedOrder> archivedRows) {
+        Map<Long, Order> merged = new LinkedHashMap<>();
+        hotRows.forEach(order -> merged.put(order.getId(), order));
+        archivedRows.forEach(archived -> merged.putIfAbsent(archived.getId(), archived.toOrder()));
+        
+        List<Order> orders = new ArrayList<>(merged.values());
+        orders.sort(NEWEST_FIRST);
+        return orders;
+    }
+    
+    // Archived orders are all older than the archive horizon; when the hot page already reaches past its
+    // lookahead row without crossing the horizon, nothing archived can land on it and the archive is not read
+    private List<Order> withArchivedPage(List<Order> hotRows, int pageSize, Supplier<List<ArchivedOrder>> archivedRows) {
+        if (hotRows.size() > pageSize
+                && hotRows.get(pageSize).getCreatedAt().isAfter(orderArchiveService.getArchiveHorizon())) {
+            return hotRows;
+        }
+        
+        List<Order> merged = withArchived(hotRows, archivedRows.get());
+        return merged.size() > pageSize + 1 ? new ArrayList<>(merged.subList(0, pageSize + 1)) : merged;
+    }
+    
+    // Builds the order lines from the resolved menu snapshot and returns the items subtotal
+    static BigDecimal priceOrderItems(Order order, List<OrderItemRequest> itemRequests, Map<Long, MenuItem> menuItems) {
         List<OrderItem> orderItems = new ArrayList<>();
         BigDecimal subtotal = BigDecimal.ZERO;
         
-        for (OrderItemRequest itemRequest : orderRequest.getItems()) {
-            MenuItem menuItem = menuItemRepository.findById(itemRequest.getMenuItemId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Menu item not found"));
+        for (OrderItemRequest itemRequest : itemRequests) {
+            MenuItem menuItem = menuItems.get(itemRequest.getMenuItemId());
             
             OrderItem orderItem = new OrderItem();
             orderItem.setOrder(order);
@@ -94,33 +295,35 @@ public class OrderService {
         }
         
         order.setItems(orderItems);
-        order.setSubtotal(subtotal);
-        order.setDeliveryFee(restaurant.getDeliveryFee());
-        order.setServiceFee(new BigDecimal("1.99"));
-        order.setTotal(subtotal.add(restaurant.getDeliveryFee()).add(new BigDecimal("1.99")));
-        
-        return orderRepository.save(order);
+        return subtotal;
     }
-
-    public Order updateOrderStatus(Long id, OrderStatus status) {
-        Order order = getOrderById(id);
-        order.setStatus(status);
+    
+    // Resolves every requested menu item in a single query and prices the order from that snapshot
+    private Map<Long, MenuItem> resolveMenuItems(Restaurant restaurant, List<OrderItemRequest> itemRequests) {
+        if (itemRequests == null || itemRequests.isEmpty()) {
+            throw new BadRequestException("Order must contain at least one item");
+        }
+        
+        Set<Long> menuItemIds = itemRequests.stream()
+                .map(OrderItemRequest::getMenuItemId)
+                .collect(Collectors.toSet());
         
-        if (status == OrderStatus.DELIVERED) {
-            order.setDeliveredAt(LocalDateTime.now());
+        Map<Long, MenuItem> menuItems = menuItemRepository.findAllById(menuItemIds).stream()
+                .collect(Collectors.toMap(MenuItem::getId, Function.identity()));
+        
+        for (Long menuItemId : menuItemIds) {
+            MenuItem menuItem = menuItems.get(menuItemId);
+            if (menuItem == null) {
+                throw new ResourceNotFoundException("Menu item not found with id: " + menuItemId);
+            }
+            if (!restaurant.getId().equals(menuItem.getRestaurant().getId())) {
+                throw new BadRequestException("Menu item " + menuItemId + " does not belong to restaurant " + restaurant.getId());
+            }
+            if (!Boolean.TRUE.equals(menuItem.getAvailable())) {
+                throw new BadRequestException("Menu item is not available: " + menuItem.getName());
+            }
         }
         
-        return orderRepository.save(order);
-    }
-
-    public void deleteOrder(Long id) {
-        Order order = getOrderById(id);
-        orderRepository.delete(order);
-    }
-    
-    private String generateOrderNumber() {
-        Random random = new Random();
-        int number = 100000 + random.nextInt(900000);
-        return "ORD-" + number;
+        return menuItems;
     }
 }
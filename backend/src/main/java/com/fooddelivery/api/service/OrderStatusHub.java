@@ -0,0 +1,316 @@
+package com.fooddelivery.api.service;
+
+import com.fooddelivery.api.event.OrderStatusChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fans order status changes out to Server-Sent Event subscribers.
+// Connections are held by the servlet container's async support, not by threads: publishing only enqueues into a
+// bounded per-subscriber buffer, and a small set of dispatcher threads drains buffers. Subscribers whose buffer
+// overflows are evicted so one slow client cannot hold back the rest. A send is a blocking socket write, so a client
+// that stops reading would also pin its dispatcher thread; a watchdog evicts any subscriber whose write has run past
+// app.sse.write-timeout-ms and starts a replacement thread, leaving the stuck one to the container's own timeout.
+// At most app.sse.max-stalled-dispatchers threads are replaced that way; past that the pool runs short until a stuck
+// send returns, and that thread then rejoins the pool.
+@Component
+public class OrderStatusHub {
+    private static final Logger logger = LoggerFactory.getLogger(OrderStatusHub.class);
+
+    private static final String EVENT_NAME = "order-status";
+    private static final long STALLED = -1;
+
+    @Value("${app.sse.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${app.sse.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${app.sse.dispatcher-threads:4}")
+    private int dispatcherThreads;
+
+    @Value("${app.sse.heartbeat-ms:25000}")
+    private long heartbeatMs;
+
+    @Value("${app.sse.write-timeout-ms:10000}")
+    private long writeTimeoutMs;
+
+    @Value("${app.sse.max-stalled-dispatchers:16}")
+    private int maxStalledDispatchers;
+
+    private final Map<String, Set<Subscriber>> orderSubscribers = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscriber>> restaurantSubscribers = new ConcurrentHashMap<>();
+    private final AtomicLong evictedSubscribers = new AtomicLong();
+
+    private final BlockingQueue<Subscriber> readySubscribers = new LinkedBlockingQueue<>();
+    private final Set<Subscriber> drainingSubscribers = ConcurrentHashMap.newKeySet();
+    private final Set<Thread> dispatchers = ConcurrentHashMap.newKeySet();
+    // Dispatchers serving the ready queue, and dispatchers written off while blocked in a send
+    private final AtomicInteger activeDispatchers = new AtomicInteger();
+    private final AtomicInteger stalledDispatchers = new AtomicInteger();
+    private final ThreadFactory dispatcherThreadFactory = namedThreads("sse-dispatcher");
+    private volatile boolean running;
+    private ScheduledExecutorService heartbeat;
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 0; i < dispatcherThreads; i++) {
+            if (claimDispatcherSlot()) {
+                startDispatcher();
+            }
+        }
+        heartbeat = Executors.newSingleThreadScheduledExecutor(namedThreads("sse-heartbeat"));
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeats, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        long watchdogMs = Math.max(writeTimeoutMs / 4, 100);
+        heartbeat.scheduleAtFixedRate(this::evictStalledWriters, watchdogMs, watchdogMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        heartbeat.shutdownNow();
+        dispatchers.forEach(Thread::interrupt);
+        orderSubscribers.values().forEach(subscribers -> subscribers.forEach(Subscriber::close));
+        restaurantSubscribers.values().forEach(subscribers -> subscribers.forEach(Subscriber::close));
+    }
+
+    public SseEmitter subscribeToOrder(String orderNumber, OrderStatusChangedEvent currentStatus) {
+        Subscriber subscriber = register(orderSubscribers, orderNumber);
+        subscriber.offer(SseEmitter.event().name(EVENT_NAME).data(currentStatus));
+        return subscriber.emitter;
+    }
+
+    public SseEmitter subscribeToRestaurant(Long restaurantId) {
+        return register(restaurantSubscribers, restaurantId).emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        publish(orderSubscribers.get(event.getOrderNumber()), event);
+        publish(restaurantSubscribers.get(event.getRestaurantId()), event);
+    }
+
+    public int getSubscriberCount() {
+        return orderSubscribers.values().stream().mapToInt(Set::size).sum()
+                + restaurantSubscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    public long getEvictedSubscriberCount() {
+        return evictedSubscribers.get();
+    }
+
+    public int getStalledDispatcherCount() {
+        return stalledDispatchers.get();
+    }
+
+    private void publish(Set<Subscriber> subscribers, OrderStatusChangedEvent event) {
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event().name(EVENT_NAME).data(event));
+        }
+    }
+
+    private void sendHeartbeats() {
+        orderSubscribers.values().forEach(subscribers -> subscribers.forEach(s -> s.offer(SseEmitter.event().comment("heartbeat"))));
+        restaurantSubscribers.values().forEach(subscribers -> subscribers.forEach(s -> s.offer(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    // Scans the subscribers being drained rather than the registries: one evicted on overflow mid-send has already
+    // left the registry but may still be holding its dispatcher thread
+    private void evictStalledWriters() {
+        long startedBefore = System.currentTimeMillis() - writeTimeoutMs;
+        drainingSubscribers.forEach(subscriber -> subscriber.evictIfStalled(startedBefore));
+    }
+
+    private void startDispatcher() {
+        Thread thread = dispatcherThreadFactory.newThread(this::dispatch);
+        dispatchers.add(thread);
+        thread.start();
+    }
+
+    // Counts a thread into the pool unless it is already at app.sse.dispatcher-threads
+    private boolean claimDispatcherSlot() {
+        int active;
+        do {
+            active = activeDispatchers.get();
+            if (active >= dispatcherThreads) {
+                return false;
+            }
+        } while (!activeDispatchers.compareAndSet(active, active + 1));
+        return true;
+    }
+
+    // Called by the watchdog for a dispatcher stuck in a send. The replacement is skipped once the cap on stuck
+    // threads is reached, so clients that stop reading cannot grow the thread count without bound.
+    private void writeOffDispatcher() {
+        activeDispatchers.decrementAndGet();
+        if (stalledDispatchers.incrementAndGet() > maxStalledDispatchers) {
+            logger.warn("{} SSE dispatcher threads are blocked in sends; not starting a replacement",
+                    stalledDispatchers.get());
+            return;
+        }
+        if (claimDispatcherSlot()) {
+            startDispatcher();
+        }
+    }
+
+    // Drains subscribers as they become ready, until shutdown. A thread the watchdog wrote off rejoins the pool once
+    // its send returns if the pool is short, and exits otherwise.
+    private void dispatch() {
+        try {
+            while (running) {
+                Subscriber subscriber = readySubscribers.take();
+                drainingSubscribers.add(subscriber);
+                try {
+                    if (!subscriber.drain()) {
+                        stalledDispatchers.decrementAndGet();
+                        if (!claimDispatcherSlot()) {
+                            return;
+                        }
+                    }
+                } finally {
+                    drainingSubscribers.remove(subscriber);
+                }
+            }
+        } catch (InterruptedException e) {
+            // Shutting down
+        } finally {
+            dispatchers.remove(Thread.currentThread());
+        }
+    }
+
+    private <K> Subscriber register(Map<K, Set<Subscriber>> registry, K key) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter);
+
+        registry.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriber.onClose = () -> registry.computeIfPresent(key, (k, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        return subscriber;
+    }
+
+    private static ThreadFactory namedThreads(String prefix) {
+        AtomicLong counter = new AtomicLong();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // Wall-clock start of the send in progress, 0 when idle, STALLED once the watchdog has written it off
+        private final AtomicLong writeStartedAt = new AtomicLong();
+        private volatile Runnable onClose = () -> { };
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (closed.get()) {
+                return;
+            }
+            if (!buffer.offer(event)) {
+                evictedSubscribers.incrementAndGet();
+                logger.debug("Evicting slow SSE subscriber after {} undelivered events", bufferSize);
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                readySubscribers.add(this);
+            }
+        }
+
+        // Returns false when the calling dispatcher was written off during a stalled send and has been replaced
+        private boolean drain() {
+            boolean writtenOff = false;
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed.get() && (event = buffer.poll()) != null) {
+                    long started = System.currentTimeMillis();
+                    writeStartedAt.set(started);
+                    emitter.send(event);
+                    if (!writeStartedAt.compareAndSet(started, 0)) {
+                        writtenOff = true;
+                        break;
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                writtenOff = writeStartedAt.getAndSet(0) == STALLED;
+                close();
+            } finally {
+                draining.set(false);
+            }
+
+            if (closed.get()) {
+                // close() leaves completion to the writer while a send is in progress
+                complete();
+            } else if (!buffer.isEmpty()) {
+                scheduleDrain();
+            }
+            return !writtenOff;
+        }
+
+        void evictIfStalled(long startedBefore) {
+            long started = writeStartedAt.get();
+            if (started > 0 && started < startedBefore && writeStartedAt.compareAndSet(started, STALLED)) {
+                if (!closed.get()) {
+                    evictedSubscribers.incrementAndGet();
+                }
+                logger.debug("Evicting SSE subscriber after a send blocked for over {} ms", writeTimeoutMs);
+                writeOffDispatcher();
+                close();
+            }
+        }
+
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                buffer.clear();
+                onClose.run();
+                // The emitter's methods share a lock with a blocked send, so only complete it here when idle
+                if (writeStartedAt.get() == 0) {
+                    complete();
+                }
+            }
+        }
+
+        private void complete() {
+            try {
+                emitter.complete();
+            } catch (IllegalStateException e) {
+                // Already completed by the container
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.fooddelivery.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fooddelivery.api.event.OrderEventHandler;
+import com.fooddelivery.api.event.OrderStatusChangedEvent;
+import com.fooddelivery.api.model.OutboxEvent;
+import com.fooddelivery.api.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Transactional outbox for order lifecycle events. Rows are written in the caller's transaction and drained in
+// batches by a background dispatcher, so request latency does not depend on how many handlers are attached.
+// Every instance polls, but only the holder of the dispatcher lease drains, so each event is delivered once and in
+// order per order; the lease moves to another instance if the holder stops renewing it.
+@Service
+public class OutboxService {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxService.class);
+
+    public static final String ORDER_CREATED = "ORDER_CREATED";
+    public static final String ORDER_STATUS_CHANGED = "ORDER_STATUS_CHANGED";
+    private static final String DISPATCHER_LEASE = "outbox-dispatcher";
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ObjectProvider<OrderEventHandler> handlers;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JobLeaseService jobLeaseService;
+
+    @Value("${app.outbox.dispatcher-enabled:true}")
+    private boolean dispatcherEnabled;
+
+    @Value("${app.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retention-hours:72}")
+    private long retentionHours;
+
+    @Value("${app.outbox.lease-ms:30000}")
+    private long leaseMs;
+
+    private final AtomicLong dispatchedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private volatile long lagMs;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String eventType, OrderStatusChangedEvent event) {
+        try {
+            outboxEventRepository.save(new OutboxEvent(event.getOrderId(), eventType, objectMapper.writeValueAsString(event)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize outbox event for order " + event.getOrderId(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:500}")
+    public void dispatchPending() {
+        if (!dispatcherEnabled || !holdsDispatcherLease()) {
+            return;
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<OutboxEvent> batch;
+        do {
+            batch = outboxEventRepository.findByDispatchedAtIsNullOrderByIdAsc(PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            updateLag(batch.get(0));
+            List<Long> delivered = new ArrayList<>();
+            List<Long> failed = new ArrayList<>();
+            // Once an event for an order fails, later events for that order wait for the next round to keep ordering
+            Set<Long> blockedOrders = new HashSet<>();
+
+            for (OutboxEvent outboxEvent : batch) {
+                if (blockedOrders.contains(outboxEvent.getAggregateId())) {
+                    continue;
+                }
+                if (deliver(outboxEvent)) {
+                    delivered.add(outboxEvent.getId());
+                } else if (outboxEvent.getAttempts() + 1 >= maxAttempts) {
+                    logger.error("Giving up on outbox event {} after {} attempts", outboxEvent.getId(), maxAttempts);
+                    delivered.add(outboxEvent.getId());
+                } else {
+                    failed.add(outboxEvent.getId());
+                    blockedOrders.add(outboxEvent.getAggregateId());
+                }
+            }
+
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!delivered.isEmpty()) {
+                    outboxEventRepository.markDispatched(delivered, LocalDateTime.now());
+                }
+                if (!failed.isEmpty()) {
+                    outboxEventRepository.incrementAttempts(failed);
+                }
+            });
+            dispatchedCount.addAndGet(delivered.size());
+            failedCount.addAndGet(failed.size());
+
+            if (!failed.isEmpty()) {
+                break;
+            }
+        } while (batch.size() == batchSize && holdsDispatcherLease());
+
+        if (batch.isEmpty()) {
+            lagMs = 0;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.cleanup-interval-ms:3600000}")
+    public void purgeDispatched() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            int purged = outboxEventRepository.deleteDispatchedBefore(LocalDateTime.now().minusHours(retentionHours));
+            if (purged > 0) {
+                logger.debug("Purged {} dispatched outbox events", purged);
+            }
+        });
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("pending", outboxEventRepository.countByDispatchedAtIsNull());
+        statistics.put("dispatched", dispatchedCount.get());
+        statistics.put("failed", failedCount.get());
+        statistics.put("lagMs", lagMs);
+        statistics.put("handlers", handlers.stream().map(handler -> handler.getClass().getSimpleName()).collect(Collectors.toList()));
+        return statistics;
+    }
+
+    public long getLagMs() {
+        return lagMs;
+    }
+
+    private boolean deliver(OutboxEvent outboxEvent) {
+        OrderStatusChangedEvent event;
+        try {
+            event = objectMapper.readValue(outboxEvent.getPayload(), OrderStatusChangedEvent.class);
+        } catch (JsonProcessingException e) {
+            logger.error("Unreadable outbox event {}: {}", outboxEvent.getId(), e.getMessage());
+            return false;
+        }
+
+        for (OrderEventHandler handler : handlers.orderedStream().collect(Collectors.toList())) {
+            try {
+                handler.handle(outboxEvent.getEventType(), event);
+            } catch (Exception e) {
+                logger.warn("Handler {} failed for outbox event {}: {}",
+                        handler.getClass().getSimpleName(), outboxEvent.getId(), e.getMessage());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Renewed before every batch, so a long drain cannot outlive the lease it started under
+    private boolean holdsDispatcherLease() {
+        return jobLeaseService.tryAcquire(DISPATCHER_LEASE, Duration.ofMillis(leaseMs));
+    }
+
+    private void updateLag(OutboxEvent oldestPending) {
+        lagMs = Duration.between(oldestPending.getCreatedAt(), LocalDateTime.now()).toMillis();
+    }
+}
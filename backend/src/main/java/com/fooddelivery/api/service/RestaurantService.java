@@ -1,41 +1,114 @@
 package com.fooddelivery.api.service;
 
+import com.fooddelivery.api.event.MenuChangedEvent;
+import com.fooddelivery.api.event.RestaurantChangedEvent;
+import com.fooddelivery.api.event.RestaurantDeletedEvent;
+import com.fooddelivery.api.exception.BadRequestException;
 import com.fooddelivery.api.exception.ResourceNotFoundException;
+import com.fooddelivery.api.model.Address;
+import com.fooddelivery.api.model.MenuItem;
 import com.fooddelivery.api.model.Restaurant;
+import com.fooddelivery.api.payload.request.PageCursor;
+import com.fooddelivery.api.payload.response.DeliveryEstimateResponse;
+import com.fooddelivery.api.payload.response.KeysetPage;
+import com.fooddelivery.api.payload.response.NearbyRestaurantResponse;
+import com.fooddelivery.api.payload.response.RestaurantResponse;
 import com.fooddelivery.api.repository.RestaurantRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class RestaurantService {
     @Autowired
     private RestaurantRepository restaurantRepository;
+    
+    @Autowired
+    private SearchIndexService searchIndexService;
+    
+    @Autowired
+    private GeoSearchService geoSearchService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private DeliveryEtaService deliveryEtaService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
-    public List<Restaurant> getAllRestaurants() {
-        return restaurantRepository.findAll();
+    public static final String RESTAURANTS_CACHE = "restaurants";
+    public static final String RESTAURANT_CACHE = "restaurant";
+    public static final String RESTAURANTS_BY_CUISINE_CACHE = "restaurantsByCuisine";
+
+    @Cacheable(value = RESTAURANTS_CACHE, key = "'all'")
+    @Transactional(readOnly = true)
+    public List<RestaurantResponse> getAllRestaurants() {
+        return toResponses(restaurantRepository.findAll());
     }
 
-    public Restaurant getRestaurantById(Long id) {
-        return restaurantRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with id: " + id));
+    @Cacheable(value = RESTAURANTS_CACHE, key = "(#cursor ?: 'first') + ':' + #pageSize")
+    @Transactional(readOnly = true)
+    public KeysetPage<RestaurantResponse> getRestaurantsPage(String cursor, int pageSize) {
+        PageCursor after = PageCursor.decode(cursor);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        
+        List<Restaurant> rows = after == null
+                ? restaurantRepository.findAllByOrderByCreatedAtAscIdAsc(limit)
+                : restaurantRepository.findPageAfter(after.getCreatedAt(), after.getId(), limit);
+        
+        return KeysetPage.of(rows, pageSize, Restaurant::getCreatedAt, Restaurant::getId)
+                .map(RestaurantResponse::build);
+    }
+
+    @Cacheable(value = RESTAURANT_CACHE, key = "#id")
+    @Transactional(readOnly = true)
+    public RestaurantResponse getRestaurantById(Long id) {
+        return RestaurantResponse.build(findRestaurant(id));
     }
 
-    public List<Restaurant> getRestaurantsByCuisine(String cuisine) {
-        return restaurantRepository.findByCuisineContaining(cuisine);
+    @Cacheable(value = RESTAURANTS_BY_CUISINE_CACHE, key = "#cuisine")
+    @Transactional(readOnly = true)
+    public List<RestaurantResponse> getRestaurantsByCuisine(String cuisine) {
+        return toResponses(restaurantRepository.findByCuisineContaining(cuisine));
     }
 
-    public List<Restaurant> searchRestaurants(String keyword) {
-        return restaurantRepository.searchByNameOrCuisine(keyword);
+    @Transactional(readOnly = true)
+    public List<RestaurantResponse> searchRestaurants(String keyword, int limit) {
+        List<Long> rankedIds = searchIndexService.searchRestaurantIds(keyword, limit);
+        Map<Long, Restaurant> restaurants = restaurantRepository.findAllById(rankedIds).stream()
+                .collect(Collectors.toMap(Restaurant::getId, Function.identity()));
+        
+        return rankedIds.stream()
+                .map(restaurants::get)
+                .filter(Objects::nonNull)
+                .map(RestaurantResponse::build)
+                .collect(Collectors.toList());
     }
 
-    public Restaurant createRestaurant(Restaurant restaurant) {
-        return restaurantRepository.save(restaurant);
+    @Transactional
+    public RestaurantResponse createRestaurant(Restaurant restaurant) {
+        Restaurant savedRestaurant = restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(new RestaurantChangedEvent(savedRestaurant.getId()));
+        return RestaurantResponse.build(savedRestaurant);
     }
 
-    public Restaurant updateRestaurant(Long id, Restaurant restaurantDetails) {
-        Restaurant restaurant = getRestaurantById(id);
+    @Transactional
+    public RestaurantResponse updateRestaurant(Long id, Restaurant restaurantDetails) {
+        Restaurant restaurant = findRestaurant(id);
         
         restaurant.setName(restaurantDetails.getName());
         restaurant.setDescription(restaurantDetails.getDescription());
@@ -45,12 +118,109 @@ public class RestaurantService {
         restaurant.setDeliveryTime(restaurantDetails.getDeliveryTime());
         restaurant.setDeliveryFee(restaurantDetails.getDeliveryFee());
         restaurant.setMinOrder(restaurantDetails.getMinOrder());
+        restaurant.setDeliveryRadiusKm(restaurantDetails.getDeliveryRadiusKm());
         
-        return restaurantRepository.save(restaurant);
+        Restaurant savedRestaurant = restaurantRepository.save(restaurant);
+        eventPublisher.publishEvent(new RestaurantChangedEvent(id));
+        // Menu snapshots embed the restaurant's own fields
+        eventPublisher.publishEvent(new MenuChangedEvent(id));
+        return RestaurantResponse.build(savedRestaurant);
     }
 
+    @Transactional
     public void deleteRestaurant(Long id) {
-        Restaurant restaurant = getRestaurantById(id);
+        Restaurant restaurant = findRestaurant(id);
+        List<Long> menuItemIds = restaurant.getMenuItems().stream()
+                .map(MenuItem::getId)
+                .collect(Collectors.toList());
         restaurantRepository.delete(restaurant);
+        // Search, geo, menu snapshots and the catalog caches drop the restaurant only once the delete has committed
+        eventPublisher.publishEvent(new RestaurantDeletedEvent(id, menuItemIds));
+    }
+
+    // Catalog caches are evicted once the write has committed: a rolled-back write leaves them alone, and a read
+    // arriving after the evict loads the committed row rather than the one being replaced
+    @Caching(evict = {
+            @CacheEvict(value = RESTAURANT_CACHE, key = "#event.restaurantId"),
+            @CacheEvict(value = RESTAURANTS_CACHE, allEntries = true),
+            @CacheEvict(value = RESTAURANTS_BY_CUISINE_CACHE, allEntries = true)
+    })
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+    }
+
+    @Caching(evict = {
+            @CacheEvict(value = RESTAURANT_CACHE, key = "#event.restaurantId"),
+            @CacheEvict(value = RESTAURANTS_CACHE, allEntries = true),
+            @CacheEvict(value = RESTAURANTS_BY_CUISINE_CACHE, allEntries = true)
+    })
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantDeleted(RestaurantDeletedEvent event) {
+    }
+
+    @Transactional(readOnly = true)
+    public List<NearbyRestaurantResponse> getRestaurantsDeliveringTo(Long addressId, Double latitude, Double longitude, int limit) {
+        double[] point = resolveLocation(addressId, latitude, longitude);
+        return toNearbyResponses(geoSearchService.findDeliveringTo(point[0], point[1], limit));
+    }
+
+    @Transactional(readOnly = true)
+    public List<NearbyRestaurantResponse> getNearestRestaurants(Long addressId, Double latitude, Double longitude, int limit) {
+        double[] point = resolveLocation(addressId, latitude, longitude);
+        return toNearbyResponses(geoSearchService.findNearest(point[0], point[1], limit));
+    }
+
+    // Pre-checkout estimate; without a location the travel leg falls back to the default
+    @Transactional(readOnly = true)
+    public DeliveryEstimateResponse getDeliveryEstimate(Long id, Long addressId, Double latitude, Double longitude) {
+        findRestaurant(id);
+        if (addressId == null && latitude == null && longitude == null) {
+            return deliveryEtaService.estimate(id, null, null);
+        }
+        double[] point = resolveLocation(addressId, latitude, longitude);
+        return deliveryEtaService.estimate(id, point[0], point[1]);
+    }
+
+    // A saved delivery address of the signed-in user, or explicit coordinates
+    private double[] resolveLocation(Long addressId, Double latitude, Double longitude) {
+        if (addressId != null) {
+            Address address = userService.getUserAddressById(addressId);
+            if (address.getLatitude() == null || address.getLongitude() == null) {
+                throw new BadRequestException("Address " + addressId + " has no coordinates");
+            }
+            return new double[]{address.getLatitude(), address.getLongitude()};
+        }
+        if (latitude == null || longitude == null) {
+            throw new BadRequestException("Either addressId or lat and lng are required");
+        }
+        if (Math.abs(latitude) > 90 || Math.abs(longitude) > 180) {
+            throw new BadRequestException("Coordinates out of range: " + latitude + ", " + longitude);
+        }
+        return new double[]{latitude, longitude};
+    }
+
+    private List<NearbyRestaurantResponse> toNearbyResponses(List<GeoSearchService.NearbyRestaurant> nearby) {
+        List<Long> rankedIds = nearby.stream()
+                .map(GeoSearchService.NearbyRestaurant::getRestaurantId)
+                .collect(Collectors.toList());
+        Map<Long, Restaurant> restaurants = restaurantRepository.findAllById(rankedIds).stream()
+                .collect(Collectors.toMap(Restaurant::getId, Function.identity()));
+        
+        return nearby.stream()
+                .filter(result -> restaurants.containsKey(result.getRestaurantId()))
+                .map(result -> NearbyRestaurantResponse.build(restaurants.get(result.getRestaurantId()),
+                        result.getDistanceKm(), result.getEstimatedDeliveryMinutes()))
+                .collect(Collectors.toList());
+    }
+
+    private Restaurant findRestaurant(Long id) {
+        return restaurantRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Restaurant not found with id: " + id));
+    }
+
+    private List<RestaurantResponse> toResponses(List<Restaurant> restaurants) {
+        return restaurants.stream()
+                .map(RestaurantResponse::build)
+                .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,55 @@
+package com.fooddelivery.api.service;
+
+import com.fooddelivery.api.model.ERole;
+import com.fooddelivery.api.model.Role;
+import com.fooddelivery.api.repository.RoleRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+// Roles never change at runtime, so they are seeded and read once and served from memory. This runs once all
+// singletons exist, which is before the web server starts, so no request can arrive ahead of it.
+@Component
+public class RoleRegistry implements SmartInitializingSingleton {
+    @Autowired
+    private RoleRepository roleRepository;
+
+    private volatile Map<ERole, Role> roles;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (ERole role : ERole.values()) {
+            if (roleRepository.findByName(role).isEmpty()) {
+                roleRepository.save(new Role(role));
+            }
+        }
+        load();
+    }
+
+    private void load() {
+        Map<ERole, Role> loaded = new EnumMap<>(ERole.class);
+        for (Role role : roleRepository.findAll()) {
+            loaded.put(role.getName(), role);
+        }
+
+        for (ERole name : ERole.values()) {
+            if (!loaded.containsKey(name)) {
+                throw new IllegalStateException("Role is not seeded: " + name);
+            }
+        }
+
+        roles = Collections.unmodifiableMap(loaded);
+    }
+
+    public Role get(ERole name) {
+        Map<ERole, Role> current = roles;
+        if (current == null) {
+            throw new IllegalStateException("Role registry is not loaded yet");
+        }
+        return current.get(name);
+    }
+}
@@ -0,0 +1,256 @@
+package com.fooddelivery.api.service;
+
+import com.fooddelivery.api.event.MenuChangedEvent;
+import com.fooddelivery.api.event.RestaurantChangedEvent;
+import com.fooddelivery.api.event.RestaurantDeletedEvent;
+import com.fooddelivery.api.model.MenuItem;
+import com.fooddelivery.api.model.Restaurant;
+import com.fooddelivery.api.repository.MenuItemRepository;
+import com.fooddelivery.api.repository.RestaurantRepository;
+import com.fooddelivery.api.search.InvertedIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+// Each instance keeps its own index. Writes it commits are applied after commit; writes committed through other
+// instances arrive with the periodic refresh of changed rows.
+@Service
+public class SearchIndexService {
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexService.class);
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    private static final float RESTAURANT_NAME_WEIGHT = 3.0f;
+    private static final float RESTAURANT_CUISINE_WEIGHT = 2.5f;
+    private static final float RESTAURANT_DESCRIPTION_WEIGHT = 0.5f;
+    private static final float MENU_NAME_WEIGHT = 1.5f;
+    private static final float MENU_CATEGORY_WEIGHT = 1.2f;
+    private static final float MENU_DESCRIPTION_WEIGHT = 0.3f;
+
+    private static final float ITEM_NAME_WEIGHT = 3.0f;
+    private static final float ITEM_CATEGORY_WEIGHT = 2.0f;
+    private static final float ITEM_DESCRIPTION_WEIGHT = 1.0f;
+
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // updatedAt is stamped before commit and by each instance's own clock, so the refresh re-reads this far back
+    @Value("${app.search.refresh-overlap-ms:60000}")
+    private long refreshOverlapMs;
+
+    // Restaurants are indexed with their own fields plus the text of every dish they serve
+    private final InvertedIndex restaurantIndex = new InvertedIndex();
+
+    private final InvertedIndex menuItemIndex = new InvertedIndex();
+
+    // Rows updated after this have not been picked up by the refresh yet
+    private volatile LocalDateTime refreshedThrough = LocalDateTime.now();
+
+    // Traffic is already flowing here: readers keep the previous index until the new one is swapped in whole, and
+    // writes committed during the scan are replayed onto it
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        menuItemIndex.beginBulkLoad();
+        restaurantIndex.beginBulkLoad();
+        try {
+            load();
+        } catch (RuntimeException e) {
+            menuItemIndex.cancelBulkLoad();
+            restaurantIndex.cancelBulkLoad();
+            throw e;
+        }
+    }
+
+    private void load() {
+        long start = System.currentTimeMillis();
+        LocalDateTime loadStartedAt = LocalDateTime.now();
+        InvertedIndex.Builder menuItems = new InvertedIndex.Builder();
+        Map<Long, Map<String, Float>> menuTermsByRestaurant = new HashMap<>();
+
+        Long lastId = 0L;
+        List<Object[]> rows;
+        do {
+            rows = menuItemRepository.findSearchRowsAfter(lastId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (Object[] row : rows) {
+                Long id = (Long) row[0];
+                Long restaurantId = (Long) row[1];
+                String name = (String) row[2];
+                String category = (String) row[3];
+                String description = (String) row[4];
+
+                menuItems.add(id, menuItemTerms(name, category, description));
+                addMenuTermsToRestaurant(
+                        menuTermsByRestaurant.computeIfAbsent(restaurantId, key -> new HashMap<>()),
+                        name, category, description);
+                lastId = id;
+            }
+        } while (rows.size() == REBUILD_BATCH_SIZE);
+
+        InvertedIndex.Builder restaurants = new InvertedIndex.Builder();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        long[] lastRestaurantId = {0L};
+        int loaded;
+        do {
+            loaded = transactionTemplate.execute(status -> {
+                List<Restaurant> batch = restaurantRepository.findByIdGreaterThanOrderByIdAsc(
+                        lastRestaurantId[0], PageRequest.of(0, REBUILD_BATCH_SIZE));
+                for (Restaurant restaurant : batch) {
+                    Map<String, Float> terms = restaurantTerms(restaurant);
+                    menuTermsByRestaurant.getOrDefault(restaurant.getId(), Map.of())
+                            .forEach((term, weight) -> terms.merge(term, weight, Math::max));
+                    restaurants.add(restaurant.getId(), terms);
+                    lastRestaurantId[0] = restaurant.getId();
+                }
+                return batch.size();
+            });
+        } while (loaded == REBUILD_BATCH_SIZE);
+
+        menuItemIndex.replaceWith(menuItems);
+        restaurantIndex.replaceWith(restaurants);
+        refreshedThrough = loadStartedAt;
+
+        logger.info("Search index built in {} ms: {} restaurants, {} menu items, {} terms",
+                System.currentTimeMillis() - start, restaurantIndex.documentCount(),
+                menuItemIndex.documentCount(), restaurantIndex.termCount() + menuItemIndex.termCount());
+    }
+
+    public List<Long> searchRestaurantIds(String keyword, int limit) {
+        return restaurantIndex.search(keyword, limit);
+    }
+
+    public List<Long> searchMenuItemIds(String keyword, int limit) {
+        return menuItemIndex.search(keyword, limit);
+    }
+
+    // Re-indexes the menu items and restaurants changed since the last pass. Rows deleted through another instance
+    // stay in the index until the next rebuild; searches already drop ids that no longer load.
+    @Scheduled(fixedDelayString = "${app.search.refresh-interval-ms:30000}",
+               initialDelayString = "${app.search.refresh-interval-ms:30000}")
+    public void refreshChanged() {
+        LocalDateTime passStartedAt = LocalDateTime.now();
+        LocalDateTime since = refreshedThrough.minus(Duration.ofMillis(refreshOverlapMs));
+        int[] refreshed = new int[2];
+        readTransaction().executeWithoutResult(status -> {
+            Set<Long> restaurantIds = new HashSet<>(restaurantRepository.findIdsUpdatedAfter(since));
+            for (Object[] row : menuItemRepository.findSearchRowsUpdatedAfter(since)) {
+                menuItemIndex.index((Long) row[0], menuItemTerms((String) row[2], (String) row[3], (String) row[4]));
+                restaurantIds.add((Long) row[1]);
+                refreshed[0]++;
+            }
+            for (Long restaurantId : restaurantIds) {
+                restaurantRepository.findById(restaurantId).ifPresent(this::indexRestaurant);
+            }
+            refreshed[1] = restaurantIds.size();
+        });
+        refreshedThrough = passStartedAt;
+
+        if (refreshed[0] > 0 || refreshed[1] > 0) {
+            logger.debug("Search index refreshed {} menu items and {} restaurants", refreshed[0], refreshed[1]);
+        }
+    }
+
+    // Applied once the write has committed, so a rolled-back write never reaches the index. The restaurant is
+    // re-read rather than taken from the event, so the index gets the committed row.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantChanged(RestaurantChangedEvent event) {
+        readTransaction().executeWithoutResult(status ->
+                restaurantRepository.findById(event.getRestaurantId()).ifPresent(this::indexRestaurant));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        // Changes to the restaurant's own fields arrive as a RestaurantChangedEvent
+        if (event.getMenuItemId() == null) {
+            return;
+        }
+
+        readTransaction().executeWithoutResult(status -> {
+            Optional<MenuItem> menuItem = menuItemRepository.findById(event.getMenuItemId());
+            if (menuItem.isPresent()) {
+                menuItemIndex.index(menuItem.get().getId(), menuItemTerms(menuItem.get().getName(),
+                        menuItem.get().getCategory(), menuItem.get().getDescription()));
+            } else {
+                menuItemIndex.remove(event.getMenuItemId());
+            }
+            // The restaurant is indexed with the text of its dishes
+            restaurantRepository.findById(event.getRestaurantId()).ifPresent(this::indexRestaurant);
+        });
+    }
+
+    private void indexRestaurant(Restaurant restaurant) {
+        Map<String, Float> terms = restaurantTerms(restaurant);
+        for (MenuItem menuItem : menuItemRepository.findByRestaurantId(restaurant.getId())) {
+            addMenuTermsToRestaurant(terms, menuItem.getName(), menuItem.getCategory(), menuItem.getDescription());
+        }
+        restaurantIndex.index(restaurant.getId(), terms);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRestaurantDeleted(RestaurantDeletedEvent event) {
+        for (Long menuItemId : event.getMenuItemIds()) {
+            menuItemIndex.remove(menuItemId);
+        }
+        restaurantIndex.remove(event.getRestaurantId());
+    }
+
+    // After commit the finished transaction's resources are still bound, so reads run in a new one
+    private TransactionTemplate readTransaction() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate;
+    }
+
+    private Map<String, Float> restaurantTerms(Restaurant restaurant) {
+        Map<String, Float> terms = new HashMap<>();
+        InvertedIndex.addTerms(terms, restaurant.getName(), RESTAURANT_NAME_WEIGHT);
+        InvertedIndex.addTerms(terms, restaurant.getDescription(), RESTAURANT_DESCRIPTION_WEIGHT);
+        if (restaurant.getCuisine() != null) {
+            for (String cuisine : restaurant.getCuisine()) {
+                InvertedIndex.addTerms(terms, cuisine, RESTAURANT_CUISINE_WEIGHT);
+            }
+        }
+        return terms;
+    }
+
+    private Map<String, Float> menuItemTerms(String name, String category, String description) {
+        Map<String, Float> terms = new HashMap<>();
+        InvertedIndex.addTerms(terms, name, ITEM_NAME_WEIGHT);
+        InvertedIndex.addTerms(terms, category, ITEM_CATEGORY_WEIGHT);
+        InvertedIndex.addTerms(terms, description, ITEM_DESCRIPTION_WEIGHT);
+        return terms;
+    }
+
+    private void addMenuTermsToRestaurant(Map<String, Float> terms, String name, String category, String description) {
+        InvertedIndex.addTerms(terms, name, MENU_NAME_WEIGHT);
+        InvertedIndex.addTerms(terms, category, MENU_CATEGORY_WEIGHT);
+        InvertedIndex.addTerms(terms, description, MENU_DESCRIPTION_WEIGHT);
+    }
+}
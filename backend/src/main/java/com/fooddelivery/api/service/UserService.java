@@ -1,14 +1,15 @@
 package com.fooddelivery.api.service;
 
+import com.fooddelivery.api.event.RestaurantChangedEvent;
 import com.fooddelivery.api.exception.ResourceNotFoundException;
 import com.fooddelivery.api.model.Address;
+import com.fooddelivery.api.model.Restaurant;
 import com.fooddelivery.api.model.User;
 import com.fooddelivery.api.repository.AddressRepository;
+import com.fooddelivery.api.repository.RestaurantRepository;
 import com.fooddelivery.api.repository.UserRepository;
-import com.fooddelivery.api.security.services.UserDetailsImpl;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -20,13 +21,22 @@ public class UserService {
     
     @Autowired
     private AddressRepository addressRepository;
+    
+    @Autowired
+    private CurrentUserContext currentUserContext;
+    
+    @Autowired
+    private RestaurantRepository restaurantRepository;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-        
-        return userRepository.findById(userDetails.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+        return currentUserContext.getUser();
+    }
+
+    public Long getCurrentUserId() {
+        return currentUserContext.getUserId();
     }
 
     public User updateCurrentUser(User userDetails) {
@@ -39,15 +49,14 @@ public class UserService {
     }
 
     public List<Address> getCurrentUserAddresses() {
-        User currentUser = getCurrentUser();
-        return addressRepository.findByUserId(currentUser.getId());
+        return addressRepository.findByUserId(getCurrentUserId());
     }
 
     public Address getUserAddressById(Long id) {
-        User currentUser = getCurrentUser();
+        Long currentUserId = getCurrentUserId();
         
         return addressRepository.findById(id)
-                .filter(address -> address.getUser().getId().equals(currentUser.getId()))
+                .filter(address -> address.getUser().getId().equals(currentUserId))
                 .orElseThrow(() -> new ResourceNotFoundException("Address not found or does not belong to current user"));
     }
 
@@ -74,12 +83,13 @@ public class UserService {
         address.setCity(addressDetails.getCity());
         address.setState(addressDetails.getState());
         address.setZipCode(addressDetails.getZipCode());
+        address.setLatitude(addressDetails.getLatitude());
+        address.setLongitude(addressDetails.getLongitude());
         address.setInstructions(addressDetails.getInstructions());
         
         if (addressDetails.getIsDefault() && !address.getIsDefault()) {
             // If this address is being set as default, unset any existing default address
-            User currentUser = getCurrentUser();
-            addressRepository.findByUserIdAndIsDefaultTrue(currentUser.getId())
+            addressRepository.findByUserIdAndIsDefaultTrue(getCurrentUserId())
                     .ifPresent(defaultAddress -> {
                         defaultAddress.setIsDefault(false);
                         addressRepository.save(defaultAddress);
@@ -88,7 +98,12 @@ public class UserService {
             address.setIsDefault(true);
         }
         
-        return addressRepository.save(address);
+        Address savedAddress = addressRepository.save(address);
+        // Restaurant responses and the geo grid both take the restaurant's location from its address
+        for (Restaurant restaurant : restaurantRepository.findByAddressId(savedAddress.getId())) {
+            eventPublisher.publishEvent(new RestaurantChangedEvent(restaurant.getId()));
+        }
+        return savedAddress;
     }
 
     public void deleteUserAddress(Long id) {
@@ -12,6 +12,23 @@ const handleResponse = async (response: Response) => {
   return await response.json()
 }
 
+// Keyset-paged list endpoints return one page per call and the cursor for the next one in X-Next-Cursor;
+// follow it until the last page so callers still get the whole list
+const PAGE_SIZE = 100
+
+const fetchAllPages = async (path: string, init?: RequestInit) => {
+  const items: any[] = []
+  let cursor: string | null = null
+  do {
+    const separator = path.includes("?") ? "&" : "?"
+    const cursorParam = cursor ? `&cursor=${encodeURIComponent(cursor)}` : ""
+    const response = await fetch(`${API_URL}${path}${separator}size=${PAGE_SIZE}${cursorParam}`, init)
+    items.push(...(await handleResponse(response)))
+    cursor = response.headers.get("X-Next-Cursor")
+  } while (cursor)
+  return items
+}
+
 // Improved helper function to handle API requests with fallback
 async function handleApiRequestWithFallback<T>(
   apiCall: () => Promise<T>,
@@ -118,8 +135,7 @@ export const getRestaurants = async () => {
 
   return await handleApiRequestWithFallback(
     async () => {
-      const response = await fetch(`${API_URL}/restaurants`)
-      return await handleResponse(response)
+      return await fetchAllPages("/restaurants")
     },
     restaurantsWithINR,
     "Failed to fetch restaurants from API, using mock data",
@@ -372,12 +388,11 @@ export const getUserOrders = async () => {
 
   return await handleApiRequestWithFallback(
     async () => {
-      const response = await fetch(`${API_URL}/orders/user`, {
+      return await fetchAllPages("/orders/user", {
         headers: {
           Authorization: `Bearer ${token}`,
         },
       })
-      return await handleResponse(response)
     },
     mockOrders,
     "Failed to fetch orders, using mock orders",
@@ -943,12 +958,11 @@ export const getUserOrdersUpdated = async () => {
 
   return await handleApiRequestWithFallback(
     async () => {
-      const response = await fetch(`${API_URL}/orders/user`, {
+      return await fetchAllPages("/orders/user", {
         headers: {
           Authorization: `Bearer ${token}`,
         },
       })
-      return await handleResponse(response)
     },
     mockOrders,
     "Failed to fetch orders, using mock orders",